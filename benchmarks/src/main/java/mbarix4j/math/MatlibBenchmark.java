@@ -0,0 +1,173 @@
+package mbarix4j.math;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the array kernels in {@link Matlib}. <i>n</i> is the number
+ * of samples in the data (or query) arrays.
+ *
+ * @author Brian Schlining
+ * @since 2026-10-17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MatlibBenchmark {
+
+    @Param({"1000", "1000000", "10000000"})
+    public int n;
+
+    /** Size of the reference grid used for interpolation */
+    @Param({"1000"})
+    public int gridSize;
+
+    private double[] x;
+    private double[] y;
+    private double[] xi;
+    private double[] timeSeries;
+    private long[] timestamps;
+    private Interpolator interpolator;
+    private Interpolator spline;
+    private Interpolator pchip;
+    private double[] sortedXi;
+    private double[] yi;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(1234L);
+        x = Matlib.linspace(0, 1000, gridSize);
+        y = new double[gridSize];
+        for (int i = 0; i < gridSize; i++) {
+            y[i] = Math.sin(x[i] / 50D) + random.nextGaussian() * 0.01;
+        }
+
+        xi = new double[n];
+        timeSeries = new double[n];
+        timestamps = new long[n];
+        long t0 = 1262304000000L; // 2010-01-01
+        for (int i = 0; i < n; i++) {
+            xi[i] = random.nextDouble() * 1000D;
+            // Mostly increasing with some jitter and duplicates like merged mooring data
+            long t = t0 + i * 1000L + random.nextInt(3000);
+            timestamps[i] = t;
+            timeSeries[i] = t;
+        }
+        interpolator = new LinearInterpolator(x, y);
+        spline = new CubicSplineInterpolator(x, y);
+        pchip = new PchipInterpolator(x, y);
+        sortedXi = Arrays.copyOf(xi, n);
+        Arrays.sort(sortedXi);
+        yi = new double[n];
+    }
+
+    @Benchmark
+    public double[] interpolate() {
+        return Matlib.interpolate(x, y, xi);
+    }
+
+    @Benchmark
+    public double[] linearInterpolator() {
+        interpolator.interpolate(xi, yi);
+        return yi;
+    }
+
+    @Benchmark
+    public double[] linearInterpolatorSorted() {
+        interpolator.interpolate(sortedXi, yi);
+        return yi;
+    }
+
+    @Benchmark
+    public double[] cubicSplineSorted() {
+        spline.interpolate(sortedXi, yi);
+        return yi;
+    }
+
+    @Benchmark
+    public double[] pchipSorted() {
+        pchip.interpolate(sortedXi, yi);
+        return yi;
+    }
+
+    @Benchmark
+    public int[] nearScalar() {
+        int[] idx = new int[n];
+        for (int i = 0; i < n; i++) {
+            idx[i] = Matlib.near(x, sortedXi[i]);
+        }
+        return idx;
+    }
+
+    @Benchmark
+    public int[] nearSorted() {
+        return Matlib.near(x, sortedXi);
+    }
+
+    @Benchmark
+    public int[] nearUnsorted() {
+        return Matlib.near(x, xi);
+    }
+
+    @Benchmark
+    public int[] uniqueSortDouble() {
+        return Matlib.uniqueSort(timeSeries);
+    }
+
+    @Benchmark
+    public int[] uniqueSortLong() {
+        return Matlib.uniqueSort(timestamps);
+    }
+
+    @Benchmark
+    public int[] parallelUniqueSortLong() {
+        return Matlib.parallelUniqueSort(timestamps);
+    }
+
+    @Benchmark
+    public double[] cumsum() {
+        return Matlib.cumsum(xi);
+    }
+
+    @Benchmark
+    public double sum() {
+        return Matlib.sum(xi);
+    }
+
+    @Benchmark
+    public double trapz() {
+        return Matlib.trapz(timeSeries, xi);
+    }
+
+    @Benchmark
+    public double sumKahan() {
+        return Matlib.sum(xi, Summation.KAHAN);
+    }
+
+    @Benchmark
+    public double sumPairwise() {
+        return Matlib.sum(xi, Summation.PAIRWISE);
+    }
+
+    @Benchmark
+    public double trapzKahan() {
+        return Matlib.trapz(timeSeries, xi, Summation.KAHAN);
+    }
+
+}
@@ -0,0 +1,87 @@
+package mbarix4j.math;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the order statistics and histograms in {@link Statlib}.
+ *
+ * @author Brian Schlining
+ * @since 2026-10-17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StatlibBenchmark {
+
+    @Param({"1000", "1000000", "10000000"})
+    public int n;
+
+    /** Number of histogram bins */
+    @Param({"100"})
+    public int bins;
+
+    private double[] data;
+    private double[] edges;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(1234L);
+        data = new double[n];
+        for (int i = 0; i < n; i++) {
+            data[i] = 10D + random.nextGaussian() * 2D;
+        }
+        edges = Matlib.linspace(0, 20, bins + 1);
+    }
+
+    @Benchmark
+    public double median() {
+        return Statlib.median(data);
+    }
+
+    @Benchmark
+    public double percentile() {
+        return Statlib.percentile(data, 0.95);
+    }
+
+    @Benchmark
+    public double[] percentiles() {
+        return Statlib.percentiles(data, 0.05, 0.25, 0.5, 0.75, 0.95);
+    }
+
+    @Benchmark
+    public double[] histc() {
+        return Statlib.histc(data, edges);
+    }
+
+    @Benchmark
+    public long[] histogramCount() {
+        return Histogram.ofEdges(edges).count(data);
+    }
+
+    @Benchmark
+    public long[] histogramParallelCount() {
+        return Histogram.ofEdges(edges).parallelCount(data);
+    }
+
+    @Benchmark
+    public double standardDeviation() {
+        return Statlib.standardDeviation(data);
+    }
+
+}
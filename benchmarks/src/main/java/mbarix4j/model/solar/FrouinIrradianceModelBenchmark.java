@@ -0,0 +1,72 @@
+package mbarix4j.model.solar;
+
+import java.util.concurrent.TimeUnit;
+
+import mbarix4j.math.Matlib;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks {@link FrouinIrradianceModel#calcIrradiance(long, double, double)}
+ * over <i>n</i> 1-minute daytime samples on a PAR (400-700nm) wavelength grid.
+ *
+ * @author Brian Schlining
+ * @since 2026-10-17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FrouinIrradianceModelBenchmark {
+
+    @Param({"1000", "100000"})
+    public int n;
+
+    /** Number of wavelengths between 400 and 700 nm */
+    @Param({"31"})
+    public int wavelengths;
+
+    private static final double LATITUDE = 36.747;
+    private static final double LONGITUDE = -122.022;
+
+    private FrouinIrradianceModel model;
+    private long[] millis;
+    private double[] irradiance;
+
+    @Setup
+    public void setup() {
+        model = new FrouinIrradianceModel(Matlib.linspace(400, 700, wavelengths));
+        millis = new long[n];
+        long t0 = 1277985600000L; // 2010-07-01 12:00 GMT
+        for (int i = 0; i < n; i++) {
+            millis[i] = t0 + i * 60000L;
+        }
+        irradiance = new double[n * wavelengths];
+    }
+
+    @Benchmark
+    public void calcIrradiance(Blackhole blackhole) {
+        for (int i = 0; i < n; i++) {
+            blackhole.consume(model.calcIrradiance(millis[i], LATITUDE, LONGITUDE));
+        }
+    }
+
+    @Benchmark
+    public double[] timeSeries() {
+        model.calcIrradiance(millis, LATITUDE, LONGITUDE, -999, -999, -999, irradiance, false);
+        return irradiance;
+    }
+
+}
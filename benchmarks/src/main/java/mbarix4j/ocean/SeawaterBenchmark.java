@@ -0,0 +1,148 @@
+package mbarix4j.ocean;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the {@link Seawater} equation of state evaluated over a
+ * synthetic CTD cast of <i>n</i> scans.
+ *
+ * @author Brian Schlining
+ * @since 2026-10-17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SeawaterBenchmark {
+
+    @Param({"1000", "1000000"})
+    public int n;
+
+    private double[] s;
+    private double[] t;
+    private double[] p;
+    private double[] out;
+    private double[] c;
+    private CtdPipeline pipeline;
+    private Map<CtdPipeline.Product, double[]> derived;
+    private double[] latitude;
+    private SeawaterTable svelTable;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(1234L);
+        s = new double[n];
+        t = new double[n];
+        p = new double[n];
+        out = new double[n];
+        for (int i = 0; i < n; i++) {
+            double depthFraction = i / (double) n;
+            p[i] = depthFraction * 4000D;
+            t[i] = 15D - 13D * depthFraction + random.nextGaussian() * 0.01;
+            s[i] = 33.5D + 1.2D * depthFraction + random.nextGaussian() * 0.001;
+        }
+        c = new double[n];
+        latitude = new double[n];
+        for (int i = 0; i < n; i++) {
+            c[i] = 0.8D + 0.2D * (t[i] / 15D);
+            latitude[i] = 36.8D;
+        }
+        svelTable = SeawaterTable.build(SeawaterTable.Property.SVEL, new SeawaterTable.Axis(30, 40, 41),
+                new SeawaterTable.Axis(-2, 32, 69), new SeawaterTable.Axis(0, 6000, 121));
+        pipeline = CtdPipeline.all();
+        derived = pipeline.allocate(n);
+    }
+
+    @Benchmark
+    public double[] density() {
+        for (int i = 0; i < n; i++) {
+            out[i] = Seawater.density(s[i], t[i], p[i]);
+        }
+        return out;
+    }
+
+    @Benchmark
+    public double[] svel() {
+        for (int i = 0; i < n; i++) {
+            out[i] = Seawater.svel(s[i], t[i], p[i]);
+        }
+        return out;
+    }
+
+    @Benchmark
+    public double[] theta() {
+        for (int i = 0; i < n; i++) {
+            out[i] = Seawater.theta(s[i], t[i], p[i]);
+        }
+        return out;
+    }
+
+    @Benchmark
+    public double[] densityColumns() {
+        Seawater.density(s, t, p, out);
+        return out;
+    }
+
+    @Benchmark
+    public double[] densityColumnsParallel() {
+        Seawater.density(s, t, p, out, true);
+        return out;
+    }
+
+    @Benchmark
+    public double[] thetaColumns() {
+        Seawater.theta(s, t, p, 0, out);
+        return out;
+    }
+
+    /** Every product with a separate Seawater call for each */
+    @Benchmark
+    public Map<CtdPipeline.Product, double[]> deriveAllSeparately() {
+        double[] sal = derived.get(CtdPipeline.Product.SALINITY);
+        double[] density = derived.get(CtdPipeline.Product.DENSITY);
+        double[] sigmat = derived.get(CtdPipeline.Product.SIGMAT);
+        double[] theta = derived.get(CtdPipeline.Product.THETA);
+        double[] spiciness = derived.get(CtdPipeline.Product.SPICINESS);
+        double[] svel = derived.get(CtdPipeline.Product.SVEL);
+        double[] depth = derived.get(CtdPipeline.Product.DEPTH);
+        for (int i = 0; i < n; i++) {
+            sal[i] = Seawater.salinity(c[i], t[i], p[i]);
+            density[i] = Seawater.density(sal[i], t[i], p[i]);
+            sigmat[i] = Seawater.sigmat(sal[i], t[i]);
+            theta[i] = Seawater.theta(sal[i], t[i], p[i]);
+            spiciness[i] = Seawater.spiciness(sal[i], theta[i], p[i]);
+            svel[i] = Seawater.svel(sal[i], t[i], p[i]);
+            depth[i] = Seawater.depth(p[i], latitude[i]);
+        }
+        return derived;
+    }
+
+    @Benchmark
+    public Map<CtdPipeline.Product, double[]> deriveAll() {
+        pipeline.derive(c, t, p, latitude, derived, false);
+        return derived;
+    }
+
+    @Benchmark
+    public double[] svelTable() {
+        svelTable.values(s, t, p, out);
+        return out;
+    }
+
+}
@@ -0,0 +1,65 @@
+package mbarix4j.solar;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@link SolarPosition} over a time series of <i>n</i> 1-minute
+ * samples at a fixed site (Monterey Bay, M1 mooring).
+ *
+ * @author Brian Schlining
+ * @since 2026-10-17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SolarPositionBenchmark {
+
+    @Param({"1000", "100000"})
+    public int n;
+
+    private static final double LATITUDE = 36.747;
+    private static final double LONGITUDE = -122.022;
+
+    private long[] millis;
+    private double[] zenith;
+
+    @Setup
+    public void setup() {
+        millis = new long[n];
+        zenith = new double[n];
+        long t0 = 1262304000000L; // 2010-01-01
+        for (int i = 0; i < n; i++) {
+            millis[i] = t0 + i * 60000L;
+        }
+    }
+
+    @Benchmark
+    public double[] solarPosition() {
+        for (int i = 0; i < n; i++) {
+            zenith[i] = new SolarPosition(millis[i], LATITUDE, LONGITUDE).getZenith();
+        }
+        return zenith;
+    }
+
+    @Benchmark
+    public double[] batch() {
+        SolarPosition.calculate(millis, LATITUDE, LONGITUDE, zenith, null, null, null, false);
+        return zenith;
+    }
+
+}
@@ -0,0 +1,288 @@
+package mbarix4j.math;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Bins several columns by a key column (e.g. the 24 Hz scans of a CTD cast
+ * into 1 dbar pressure bins) and computes the count, mean, median and
+ * standard deviation of every column in every bin.
+ *
+ * <p>The scans are grouped by bin once with a counting sort, so each bin's
+ * values sit next to each other and every statistic is computed from that
+ * one pass instead of rescanning the cast for each bin. NaN values are left
+ * out of a bin's statistics, as are scans whose key is not in any bin.</p>
+ *
+ * <p>Optionally each column can be despiked first: values farther from the
+ * running median than {@code despikeThreshold} times the (scaled) median
+ * absolute deviation of the whole column are replaced with NaN.</p>
+ *
+ * <pre>
+ *     ColumnBinner binner = new ColumnBinner(Histogram.uniform(0, 4000, 4001), 7, 5);
+ *     ColumnBinner.Result result = binner.bin(pressure, temperature, salinity);
+ *     double[] meanTemperature = result.getMean(0);
+ *
+ *     // Many casts at once
+ *     List&lt;ColumnBinner.Result&gt; results = binner.binAll(casts, true);
+ * </pre>
+ *
+ * @author Brian Schlining
+ * @since 2026-10-17
+ */
+public class ColumnBinner {
+
+    /** Scales the median absolute deviation to a standard deviation for normal data */
+    private static final double MAD_SCALE = 1.4826;
+
+    private final Histogram histogram;
+    private final int despikeWindow;
+    private final double despikeThreshold;
+
+    /**
+     * Bin without despiking
+     *
+     * @param histogram Defines the bins of the key column
+     */
+    public ColumnBinner(Histogram histogram) {
+        this(histogram, 0, Double.NaN);
+    }
+
+    /**
+     * @param histogram Defines the bins of the key column
+     * @param despikeWindow The number of scans in the running median. 0 turns despiking off
+     * @param despikeThreshold How many (scaled) median absolute deviations from the
+     *                         running median a value can be before it is a spike
+     */
+    public ColumnBinner(Histogram histogram, int despikeWindow, double despikeThreshold) {
+        if (despikeWindow < 0) {
+            throw new IllegalArgumentException("The despike window can not be negative. Found " + despikeWindow);
+        }
+        if (despikeWindow > 0 && !(despikeThreshold > 0)) {
+            throw new IllegalArgumentException("The despike threshold must be greater than 0. Found " + despikeThreshold);
+        }
+        this.histogram = histogram;
+        this.despikeWindow = despikeWindow;
+        this.despikeThreshold = despikeThreshold;
+    }
+
+    /**
+     * The binned statistics of one cast. Column indices are in the order the
+     * columns were passed to {@link ColumnBinner#bin(double[], double[]...)}
+     */
+    public static class Result {
+
+        private final int[][] count;
+        private final double[][] mean;
+        private final double[][] median;
+        private final double[][] standardDeviation;
+
+        private Result(int columns, int bins) {
+            count = new int[columns][bins];
+            mean = new double[columns][bins];
+            median = new double[columns][bins];
+            standardDeviation = new double[columns][bins];
+        }
+
+        public int getNumberOfColumns() {
+            return count.length;
+        }
+
+        /**
+         * @return The number of values (that are not NaN) of the column in each bin
+         */
+        public int[] getCount(int column) {
+            return Arrays.copyOf(count[column], count[column].length);
+        }
+
+        /**
+         * @return The mean of the column in each bin. NaN for empty bins
+         */
+        public double[] getMean(int column) {
+            return Arrays.copyOf(mean[column], mean[column].length);
+        }
+
+        /**
+         * @return The median of the column in each bin. NaN for empty bins
+         */
+        public double[] getMedian(int column) {
+            return Arrays.copyOf(median[column], median[column].length);
+        }
+
+        /**
+         * @return The standard deviation (normalized by N - 1) of the column in
+         *      each bin. NaN for bins with fewer than 2 values
+         */
+        public double[] getStandardDeviation(int column) {
+            return Arrays.copyOf(standardDeviation[column], standardDeviation[column].length);
+        }
+    }
+
+    /**
+     * @param key The values that are binned (e.g. pressure)
+     * @param columns The columns to compute statistics for. They must be at least
+     *                as long as the key
+     * @return The binned statistics of each column
+     */
+    public Result bin(double[] key, double[]... columns) {
+        int n = key.length;
+        for (double[] column : columns) {
+            if (column.length < n) {
+                throw new IllegalArgumentException("Every column must be at least as long as the key");
+            }
+        }
+
+        // Counting sort of the scans by bin.
+        int nBins = histogram.getNumberOfBins();
+        int[] scanBins = new int[n];
+        int[] offsets = new int[nBins + 1];
+        for (int i = 0; i < n; i++) {
+            int k = histogram.bin(key[i]);
+            scanBins[i] = k;
+            if (k >= 0) {
+                offsets[k + 1]++;
+            }
+        }
+        for (int k = 0; k < nBins; k++) {
+            offsets[k + 1] += offsets[k];
+        }
+        int[] order = new int[offsets[nBins]];
+        int[] next = Arrays.copyOf(offsets, nBins);
+        for (int i = 0; i < n; i++) {
+            int k = scanBins[i];
+            if (k >= 0) {
+                order[next[k]++] = i;
+            }
+        }
+
+        Result result = new Result(columns.length, nBins);
+        double[] scratch = new double[order.length];
+        for (int c = 0; c < columns.length; c++) {
+            double[] values = (despikeWindow > 0) ? despike(columns[c], despikeWindow, despikeThreshold) : columns[c];
+            for (int k = 0; k < nBins; k++) {
+                int m = 0;
+                for (int j = offsets[k]; j < offsets[k + 1]; j++) {
+                    double v = values[order[j]];
+                    if (!Double.isNaN(v)) {
+                        scratch[m++] = v;
+                    }
+                }
+                summarize(result, c, k, scratch, m);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Bin a batch of casts. Each cast is an array whose first element is the
+     * key column followed by the columns to bin, i.e. {key, column0, column1, ...}
+     *
+     * @param casts The casts to bin
+     * @param parallel true to bin the casts on the common ForkJoinPool
+     * @return The result of each cast, in the same order as the casts
+     */
+    public List<Result> binAll(List<double[][]> casts, boolean parallel) {
+        Result[] results = new Result[casts.size()];
+        if (parallel) {
+            Arrays.parallelSetAll(results, i -> bin(casts.get(i)));
+        }
+        else {
+            Arrays.setAll(results, i -> bin(casts.get(i)));
+        }
+        return Arrays.asList(results);
+    }
+
+    private Result bin(double[][] cast) {
+        return bin(cast[0], Arrays.copyOfRange(cast, 1, cast.length));
+    }
+
+    /**
+     * Replace spikes with NaN. A spike is a value whose distance from the
+     * running median is more than threshold times the scaled median absolute
+     * deviation of those distances over the whole column. Quantized data
+     * (e.g. CTD counts) often has a median absolute deviation of 0; then the
+     * smallest non-zero distance, i.e. the resolution of the data, is used
+     * in its place so that ordinary one-step changes are not taken as spikes.
+     *
+     * @param values The data, in scan order. Not modified
+     * @param window The number of values in the running median
+     * @param threshold The number of scaled median absolute deviations
+     * @return A copy of values with the spikes replaced by NaN
+     */
+    public static double[] despike(double[] values, int window, double threshold) {
+        int n = values.length;
+        double[] residual = new double[n];
+        double[] scratch = new double[window];
+        int half = window / 2;
+        for (int i = 0; i < n; i++) {
+            int from = Math.max(0, i - half);
+            int to = Math.min(n, from + window);
+            from = Math.max(0, to - window);
+            int m = 0;
+            for (int j = from; j < to; j++) {
+                if (!Double.isNaN(values[j])) {
+                    scratch[m++] = values[j];
+                }
+            }
+            residual[i] = Math.abs(values[i] - median(scratch, m));
+        }
+
+        int[] count = new int[1];
+        double[] sorted = Selection.copyWithNaNsLast(residual, count);
+        double mad = median(sorted, count[0]);
+        if (mad == 0) {
+            mad = Double.POSITIVE_INFINITY;
+            for (int i = 0; i < count[0]; i++) {
+                if (sorted[i] > 0) {
+                    mad = Math.min(mad, sorted[i]);
+                }
+            }
+        }
+        double limit = threshold * MAD_SCALE * mad;
+
+        double[] despiked = Arrays.copyOf(values, n);
+        for (int i = 0; i < n; i++) {
+            if (residual[i] > limit) {
+                despiked[i] = Double.NaN;
+            }
+        }
+        return despiked;
+    }
+
+    private static void summarize(Result result, int c, int k, double[] values, int m) {
+        result.count[c][k] = m;
+        if (m == 0) {
+            result.mean[c][k] = Double.NaN;
+            result.median[c][k] = Double.NaN;
+            result.standardDeviation[c][k] = Double.NaN;
+            return;
+        }
+        double sum = 0;
+        for (int i = 0; i < m; i++) {
+            sum += values[i];
+        }
+        double mean = sum / m;
+        double ss = 0;
+        for (int i = 0; i < m; i++) {
+            double d = values[i] - mean;
+            ss += d * d;
+        }
+        result.mean[c][k] = mean;
+        result.standardDeviation[c][k] = (m < 2) ? Double.NaN : Math.sqrt(ss / (m - 1));
+        result.median[c][k] = median(values, m);
+    }
+
+    /**
+     * Median of values[0, m) with no NaNs. Reorders the values.
+     */
+    private static double median(double[] values, int m) {
+        if (m == 0) {
+            return Double.NaN;
+        }
+        int i = m / 2;
+        if (DoubleMath.isEven(m)) {
+            Selection.select(values, 0, m, new int[] {i - 1, i});
+            return (values[i - 1] + values[i]) / 2;
+        }
+        return Selection.select(values, 0, m, i);
+    }
+}
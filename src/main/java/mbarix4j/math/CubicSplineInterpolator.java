@@ -0,0 +1,70 @@
+package mbarix4j.math;
+
+/**
+ * Natural cubic spline interpolation against a fixed reference grid. The
+ * spline passes through every point, has continuous first and second
+ * derivatives, and its second derivative is zero at both ends. The
+ * coefficients are solved once when the interpolator is built (a
+ * tridiagonal system, O(n)) so it can be evaluated many times without any
+ * allocation. Points outside the grid evaluate to NaN.
+ *
+ * <p>A spline can overshoot between points where the data changes
+ * abruptly. Use {@link PchipInterpolator} if the result must not go beyond
+ * the data (e.g. irradiance that must stay positive).</p>
+ *
+ * @author Brian Schlining
+ * @since 2026-10-17
+ */
+public class CubicSplineInterpolator extends PiecewiseInterpolator {
+
+    private final double[] b;
+    private final double[] c;
+    private final double[] d;
+
+    /**
+     *
+     * @param x The reference grid. Must be sorted and contain no duplicates.
+     * @param y The values at each point in x
+     * @throws IllegalArgumentException if x is not monotonic or x and y are
+     *      different lengths
+     */
+    public CubicSplineInterpolator(double[] x, double[] y) {
+        super(x, y);
+        int n = x.length - 1;
+        double[] h = new double[n];
+        double[] slope = new double[n];
+        for (int i = 0; i < n; i++) {
+            h[i] = x[i + 1] - x[i];
+            slope[i] = (y[i + 1] - y[i]) / h[i];
+        }
+
+        // Solve for the second derivatives, m, at the interior points using the
+        // Thomas algorithm. m[0] = m[n] = 0 for a natural spline.
+        double[] m = new double[n + 1];
+        double[] upper = new double[n + 1];
+        for (int i = 1; i < n; i++) {
+            double diagonal = 2 * (h[i - 1] + h[i]) - h[i - 1] * upper[i - 1];
+            upper[i] = h[i] / diagonal;
+            m[i] = (6 * (slope[i] - slope[i - 1]) - h[i - 1] * m[i - 1]) / diagonal;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            m[i] = m[i] - upper[i] * m[i + 1];
+        }
+
+        b = new double[n];
+        c = new double[n];
+        d = new double[n];
+        for (int i = 0; i < n; i++) {
+            b[i] = slope[i] - h[i] * (2 * m[i] + m[i + 1]) / 6;
+            c[i] = m[i] / 2;
+            d[i] = (m[i + 1] - m[i]) / (6 * h[i]);
+        }
+    }
+
+    @Override
+    protected double evaluate(int i, double xi) {
+        double t = xi - x[i];
+        return y[i] + t * (b[i] + t * (c[i] + t * d[i]));
+    }
+
+}
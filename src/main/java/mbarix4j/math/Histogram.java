@@ -0,0 +1,266 @@
+package mbarix4j.math;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Bins data into a fixed set of bins and counts them. This is the engine
+ * behind {@link Statlib#histc(double[], double[])} (bins defined by edges)
+ * and {@link Statlib#hist(double[], double[], boolean)} (bins defined by
+ * centers), with the same binning rules, but counts into a long[] and can
+ * count in parallel.
+ *
+ * <p>When the edges or centers are evenly spaced (e.g. made with
+ * {@link Matlib#linspace(double, double, int)}) the bin of each value is
+ * found with a single multiply instead of a binary search. The result is
+ * checked against the actual edges so it is identical to the binary
+ * search.</p>
+ *
+ * <pre>
+ *     Histogram histogram = Histogram.uniform(0, 4000, 4001); // 1 dbar bins
+ *     long[] counts = histogram.parallelCount(pressure);
+ * </pre>
+ *
+ * @author Brian Schlining
+ * @since 2026-10-17
+ */
+public class Histogram {
+
+    /** Below this size the parallel count just counts on the current thread */
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    /** How far from evenly spaced (as a fraction of the spacing) the bins can be and still be uniform */
+    private static final double UNIFORM_TOLERANCE = 1E-6;
+
+    private final double[] bins;
+    private final boolean centered;
+    private final boolean inclusive;
+    private final boolean uniform;
+    private final double inverseWidth;
+    private final int last;
+
+    private Histogram(double[] bins, boolean centered, boolean inclusive) {
+        this.bins = Arrays.copyOf(bins, bins.length);
+        this.centered = centered;
+        this.inclusive = inclusive;
+        this.last = bins.length - 1;
+        double width = (last > 0) ? (bins[last] - bins[0]) / last : Double.NaN;
+        this.inverseWidth = 1D / width;
+        this.uniform = isUniform(bins, width);
+    }
+
+    /**
+     * Bins are defined by edges, the same as {@link Statlib#histc(double[], double[])}.
+     * Bin k counts values where edges[k] &lt;= value &lt; edges[k + 1]. The last bin counts
+     * values that equal the last edge. Values outside the edges are not counted.
+     *
+     * @param edges The bin edges. Must be sorted
+     * @return A histogram with edges.length bins
+     */
+    public static Histogram ofEdges(double[] edges) {
+        return new Histogram(edges, false, true);
+    }
+
+    /**
+     * Evenly spaced edges, the same as ofEdges(Matlib.linspace(firstEdge, lastEdge, numberOfEdges))
+     *
+     * @param firstEdge The lower edge of the first bin
+     * @param lastEdge The last edge
+     * @param numberOfEdges The number of edges (which is also the number of bins)
+     * @return A histogram with numberOfEdges bins
+     */
+    public static Histogram uniform(double firstEdge, double lastEdge, int numberOfEdges) {
+        return ofEdges(Matlib.linspace(firstEdge, lastEdge, numberOfEdges));
+    }
+
+    /**
+     * Bins are defined by their centers, the same as
+     * {@link Statlib#hist(double[], double[], boolean)}. Each value is counted
+     * in the bin whose center is nearest to it.
+     *
+     * @param centers The bin centers. Must be sorted
+     * @param inclusive If true, values outside the first and last centers are
+     *      not counted. If false they are counted in the first or last bin.
+     * @return A histogram with centers.length bins
+     */
+    public static Histogram ofCenters(double[] centers, boolean inclusive) {
+        return new Histogram(centers, true, inclusive);
+    }
+
+    /**
+     * @return The number of bins
+     */
+    public int getNumberOfBins() {
+        return bins.length;
+    }
+
+    /**
+     * @return true if the bins are evenly spaced and use the constant time lookup
+     */
+    public boolean isUniform() {
+        return uniform;
+    }
+
+    /**
+     * @param value
+     * @return The index of the bin that value falls in. -1 if it is not in any bin
+     */
+    public int bin(double value) {
+        if (last < 0) {
+            return -1;
+        }
+        return centered ? centerBin(value) : edgeBin(value);
+    }
+
+    /**
+     * @param data
+     * @return The number of values in each bin
+     */
+    public long[] count(double[] data) {
+        return count(data, 0, data.length);
+    }
+
+    /**
+     * @param data
+     * @param fromIndex first index (inclusive)
+     * @param toIndex last index (exclusive)
+     * @return The number of values in each bin for data[fromIndex] to data[toIndex - 1]
+     */
+    public long[] count(double[] data, int fromIndex, int toIndex) {
+        long[] counts = new long[bins.length];
+        for (int i = fromIndex; i < toIndex; i++) {
+            int k = bin(data[i]);
+            if (k >= 0) {
+                counts[k]++;
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Count using the common ForkJoinPool. Each task counts its piece of the
+     * data into its own histogram and the pieces are summed at the end. Only
+     * worth using on large arrays.
+     *
+     * @param data
+     * @return The number of values in each bin
+     */
+    public long[] parallelCount(double[] data) {
+        if (data.length <= PARALLEL_THRESHOLD) {
+            return count(data);
+        }
+        return ForkJoinPool.commonPool().invoke(new CountTask(data, 0, data.length));
+    }
+
+    /**
+     * Same as {@link #count(double[])} but returns the counts as doubles, the
+     * way the {@link Statlib} histogram methods always have.
+     *
+     * @param data
+     * @return The number of values in each bin
+     */
+    double[] countAsDoubles(double[] data) {
+        long[] counts = count(data);
+        double[] histogram = new double[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            histogram[i] = counts[i];
+        }
+        return histogram;
+    }
+
+    private int edgeBin(double value) {
+        if (!(value >= bins[0] && value <= bins[last])) {
+            return -1;          // Outside the edges or NaN
+        }
+        if (value == bins[last]) {
+            return last;
+        }
+        if (!uniform) {
+            int idx = Arrays.binarySearch(bins, value);
+            return (idx < 0) ? -idx - 2 : idx;
+        }
+
+        // Guess then nudge so that bins[k] <= value < bins[k + 1]
+        int k = clamp((int) ((value - bins[0]) * inverseWidth), 0, last - 1);
+        while (k > 0 && value < bins[k]) {
+            k--;
+        }
+        while (k < last - 1 && value >= bins[k + 1]) {
+            k++;
+        }
+        return k;
+    }
+
+    private int centerBin(double value) {
+        if (Double.isNaN(value)) {
+            // Matlib.near puts NaN past the end of the array
+            return inclusive ? -1 : last;
+        }
+        if (value < bins[0] || value > bins[last]) {
+            if (inclusive) {
+                return -1;
+            }
+            return (value < bins[0]) ? 0 : last;
+        }
+        if (!uniform) {
+            return Matlib.near(bins, value, inclusive);
+        }
+
+        // Guess then nudge to the nearest center. Ties go to the lower bin like Matlib.near
+        int k = clamp((int) Math.floor((value - bins[0]) * inverseWidth + 0.5), 0, last);
+        while (k > 0 && Math.abs(bins[k - 1] - value) <= Math.abs(bins[k] - value)) {
+            k--;
+        }
+        while (k < last && Math.abs(bins[k + 1] - value) < Math.abs(bins[k] - value)) {
+            k++;
+        }
+        return k;
+    }
+
+    private static int clamp(int k, int min, int max) {
+        return (k < min) ? min : ((k > max) ? max : k);
+    }
+
+    private static boolean isUniform(double[] bins, double width) {
+        if (!(width > 0) || Double.isInfinite(width)) {
+            return false;
+        }
+        double tolerance = width * UNIFORM_TOLERANCE;
+        for (int i = 0; i < bins.length; i++) {
+            if (Math.abs(bins[i] - (bins[0] + i * width)) > tolerance) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private class CountTask extends RecursiveTask<long[]> {
+
+        private final double[] data;
+        private final int from;
+        private final int to;
+
+        CountTask(double[] data, int from, int to) {
+            this.data = data;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                return count(data, from, to);
+            }
+            int mid = (from + to) >>> 1;
+            CountTask left = new CountTask(data, from, mid);
+            left.fork();
+            long[] counts = new CountTask(data, mid, to).compute();
+            long[] leftCounts = left.join();
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += leftCounts[i];
+            }
+            return counts;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package mbarix4j.math;
+
+/**
+ * A function, built once from a reference grid, that can be evaluated at
+ * arbitrary points. Implementations are immutable and thread-safe. Points
+ * that fall outside the reference grid evaluate to NaN, the same as
+ * {@link Matlib#interpolate(double[], double[], double[])}.
+ *
+ * @author Brian Schlining
+ * @since 2026-10-17
+ */
+public interface Interpolator {
+
+    /**
+     * @param xi The point to evaluate
+     * @return The interpolated value at xi. NaN if xi is outside the reference grid
+     */
+    double interpolate(double xi);
+
+    /**
+     * Evaluate the interpolator at each point in xi, writing the results into
+     * yi. No arrays are allocated. Queries that are sorted in ascending order
+     * are the fastest as the segment search walks forward from the previous
+     * point instead of starting over.
+     *
+     * @param xi The points to evaluate
+     * @param yi The array to write the results into. Must be at least as long as xi
+     */
+    void interpolate(double[] xi, double[] yi);
+
+    /**
+     * @param xi The points to evaluate
+     * @return The interpolated values at each point in xi
+     */
+    default double[] interpolate(double[] xi) {
+        double[] yi = new double[xi.length];
+        interpolate(xi, yi);
+        return yi;
+    }
+
+}
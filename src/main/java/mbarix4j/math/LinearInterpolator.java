@@ -0,0 +1,51 @@
+package mbarix4j.math;
+
+/**
+ * Piecewise linear interpolation against a fixed reference grid. The grid is
+ * validated and the slope and intercept of every segment are computed once
+ * when the interpolator is built, so it can be evaluated many times without
+ * any allocation. Results are identical to
+ * {@link Matlib#interpolate(double[], double[], double[])}.
+ *
+ * <pre>
+ *     Interpolator e0 = new LinearInterpolator(lambda, irradiance);
+ *     double[] yi = new double[xi.length];
+ *     e0.interpolate(xi, yi);
+ * </pre>
+ *
+ * @author Brian Schlining
+ * @since 2026-10-17
+ */
+public class LinearInterpolator extends PiecewiseInterpolator {
+
+    private final double[] slope;
+    private final double[] intercept;
+
+    /**
+     *
+     * @param x The reference grid. Must be sorted and contain no duplicates.
+     * @param y The values at each point in x
+     * @throws IllegalArgumentException if x is not monotonic or x and y are
+     *      different lengths
+     */
+    public LinearInterpolator(double[] x, double[] y) {
+        super(x, y);
+        int n = x.length - 1;
+        slope = new double[n];
+        intercept = new double[n];
+
+        // Calculate the line equation (i.e. slope and intercept) between each point
+        for (int i = 0; i < n; i++) {
+            double dx = x[i + 1] - x[i];
+            double dy = y[i + 1] - y[i];
+            slope[i] = dy / dx;
+            intercept[i] = y[i] - x[i] * slope[i];
+        }
+    }
+
+    @Override
+    protected double evaluate(int i, double xi) {
+        return slope[i] * xi + intercept[i];
+    }
+
+}
@@ -18,7 +18,6 @@ package mbarix4j.math;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.Arrays;
-import java.util.TreeMap;
 
 /**
  * <p>Static methods for doing useful math</p><hr>
@@ -38,14 +37,10 @@ public class Matlib {
      */
     public static double[] cumsum(double[] n) {
         double[] buf = new double[n.length];
-
+        double sum = 0;
         for (int i = 0; i < n.length; i++) {
-            if (i == 0) {
-                buf[i] = n[0];
-            }
-            else {
-                buf[i] = buf[i - 1] + n[i];
-            }
+            sum += n[i];
+            buf[i] = sum;
         }
 
         return buf;
@@ -62,9 +57,8 @@ public class Matlib {
         }
         else {
             double[] y = new double[x.length - 1];
-            for (int i = 0; i < x.length - 1; i++) {
-                int j = i + 1;
-                y[i] = x[j] - x[i];
+            for (int i = 0; i < y.length; i++) {
+                y[i] = x[i + 1] - x[i];
             }
 
             return y;
@@ -100,6 +94,9 @@ public class Matlib {
     }
 
     /**
+     * Linear interpolation. If you are interpolating against the same x and y
+     * many times use a {@link LinearInterpolator} instead; it only
+     * validates and precomputes the segments once.
      *
      * @param x
      * @param y
@@ -109,51 +106,7 @@ public class Matlib {
      * @throws IllegalArgumentException
      */
     public static double[] interpolate(double[] x, double[] y, double[] xi) throws IllegalArgumentException {
-
-        if (x.length != y.length) {
-            throw new IllegalArgumentException("X and Y must be the same length");
-        }
-        if (x.length == 1) {
-            throw new IllegalArgumentException("X must contain more than one value");
-        }
-        double[] dx = new double[x.length - 1];
-        double[] dy = new double[x.length - 1];
-        double[] slope = new double[x.length - 1];
-        double[] intercept = new double[x.length - 1];
-
-        // Calculate the line equation (i.e. slope and intercept) between each point
-        for (int i = 0; i < x.length - 1; i++) {
-            dx[i] = x[i + 1] - x[i];
-            if (dx[i] == 0) {
-                throw new IllegalArgumentException("X must be montotonic. A duplicate " + "x-value was found");
-            }
-            if (dx[i] < 0) {
-                throw new IllegalArgumentException("X must be sorted");
-            }
-            dy[i] = y[i + 1] - y[i];
-            slope[i] = dy[i] / dx[i];
-            intercept[i] = y[i] - x[i] * slope[i];
-        }
-
-        // Perform the interpolation here
-        double[] yi = new double[xi.length];
-        for (int i = 0; i < xi.length; i++) {
-            if ((xi[i] > x[x.length - 1]) || (xi[i] < x[0])) {
-                yi[i] = Double.NaN;
-            }
-            else {
-                int loc = Arrays.binarySearch(x, xi[i]);
-                if (loc < -1) {
-                    loc = -loc - 2;
-                    yi[i] = slope[loc] * xi[i] + intercept[loc];
-                }
-                else {
-                    yi[i] = y[loc];
-                }
-            }
-        }
-
-        return yi;
+        return new LinearInterpolator(x, y).interpolate(xi);
     }
 
     /**
@@ -374,6 +327,76 @@ public class Matlib {
         return n;
     }
 
+    /**
+     * Find the index of the value nearest to each key. If the keys are sorted
+     * this is a single pass through both arrays instead of a binary search per
+     * key.
+     *
+     * @param values Values to search through for the nearest point. Must be sorted
+     * @param keys The keys to search for the nearest neighbor in values.
+     * @return the index of the value nearest to each key.
+     * @see #near(double[], double)
+     */
+    public static int[] near(final double[] values, final double[] keys) {
+        return near(values, keys, false);
+    }
+
+    /**
+     * Find the index of the value nearest to each key. If the keys are sorted
+     * this is a single pass through both arrays instead of a binary search per
+     * key. Large unsorted key arrays are searched in parallel.
+     *
+     * @param values Values to search through for the nearest point. Must be sorted
+     * @param keys The keys to search for the nearest neighbor in values.
+     * @param inclusive If true the keys must be within the values array
+     * @return The index of the value nearest each key. -1 for keys outside the
+     *  values if inclusive is true
+     * @see #near(double[], double, boolean)
+     */
+    public static int[] near(final double[] values, final double[] keys, boolean inclusive) {
+        return Nearest.near(values, keys, inclusive);
+    }
+
+    /**
+     * Find the index of the value nearest to the key. Useful for timestamps
+     *
+     * @param values Values to search through for the nearest point. Must be sorted
+     * @param key The key to search for the nearest neighbor in values.
+     * @param inclusive If true the key must be within the values array
+     * @return The index of the value nearest the key. -1 will be returned if the
+     *  key is outside the values and inclusive is true
+     */
+    public static int near(final long[] values, final long key, boolean inclusive) {
+        return Nearest.near(values, key, inclusive);
+    }
+
+    /**
+     * Find the index of the value nearest to each key, e.g. the navigation fix
+     * nearest to each video frame's timestamp.
+     *
+     * @param values Values to search through for the nearest point. Must be sorted
+     * @param keys The keys to search for the nearest neighbor in values.
+     * @return the index of the value nearest to each key.
+     */
+    public static int[] near(final long[] values, final long[] keys) {
+        return near(values, keys, false);
+    }
+
+    /**
+     * Find the index of the value nearest to each key. If the keys are sorted
+     * this is a single pass through both arrays instead of a binary search per
+     * key. Large unsorted key arrays are searched in parallel.
+     *
+     * @param values Values to search through for the nearest point. Must be sorted
+     * @param keys The keys to search for the nearest neighbor in values.
+     * @param inclusive If true the keys must be within the values array
+     * @return The index of the value nearest each key. -1 for keys outside the
+     *  values if inclusive is true
+     */
+    public static int[] near(final long[] values, final long[] keys, boolean inclusive) {
+        return Nearest.near(values, keys, inclusive);
+    }
+
     /**
      * Find the index of the array nearest to the value. The values array can
      * contain only unique values. If it doesn't the first occurence of a value
@@ -418,7 +441,7 @@ public class Matlib {
      */
     public static double[] subset(double[] values, int[] order) {
         double[] out = new double[order.length];
-        for (int i = 1; i < order.length; i++) {
+        for (int i = 0; i < order.length; i++) {
             out[i] = values[order[i]];
         }
 
@@ -433,7 +456,7 @@ public class Matlib {
      */
     public static float[] subset(float[] values, int[] order) {
         float[] out = new float[order.length];
-        for (int i = 1; i < order.length; i++) {
+        for (int i = 0; i < order.length; i++) {
             out[i] = values[order[i]];
         }
 
@@ -448,7 +471,7 @@ public class Matlib {
      */
     public static long[] subset(long[] values, int[] order) {
         long[] out = new long[order.length];
-        for (int i = 1; i < order.length; i++) {
+        for (int i = 0; i < order.length; i++) {
             out[i] = values[order[i]];
         }
 
@@ -462,35 +485,51 @@ public class Matlib {
      * @return The sum of all values in the Array
      */
     public static double sum(double[] values) {
+        return sum(values, Summation.SIMPLE);
+    }
+
+    /**
+     * Sum up all the values in an array
+     *
+     * @param values an array of values
+     * @param summation How to add up the values. Use {@link Summation#KAHAN} or
+     *                  {@link Summation#PAIRWISE} for long arrays where precision matters
+     * @return The sum of all values in the Array
+     */
+    public static double sum(double[] values, Summation summation) {
         if ((values == null) || (values.length == 0)) {
             throw new IllegalArgumentException("The data array either is null or does not contain any data.");
         }
         else {
-            double sum = 0;
-            for (int i = 0; i < values.length; i++) {
-                sum += values[i];
-            }
-
-            return sum;
+            return summation.sum(values);
         }
     }
 
     /**
+     * Trapezoidal integration of y over x
      *
      * @param x
      * @param y
      * @return
      */
     public static double trapz(double[] x, double[] y) {
-        double[] dx = diff(x);
-        double[] dy = diff(y);
-        double[] z = new double[dy.length];
-        for (int i = 0; i < dy.length; i++) {
-            double yy = y[i] + (dy[i] / 2);
-            z[i] = dx[i] * yy;
-        }
+        return trapz(x, y, Summation.SIMPLE);
+    }
 
-        return sum(z);
+    /**
+     * Trapezoidal integration of y over x
+     *
+     * @param x
+     * @param y
+     * @param summation How to add up the trapezoids. Use {@link Summation#KAHAN} or
+     *                  {@link Summation#PAIRWISE} for long integrations
+     * @return
+     */
+    public static double trapz(double[] x, double[] y, Summation summation) {
+        if (y.length < 2) {
+            throw new IllegalArgumentException("The data array either is null or does not contain any data.");
+        }
+        return summation.trapz(x, y);
     }
 
     /**
@@ -508,27 +547,8 @@ public class Matlib {
      * @return order An array of indexes such that y = Array.sort(x) and
      * y = x(order) are the same.
      */
-    public static synchronized int[] uniqueSort(double[] x) {
-        TreeMap<Double, Integer> tm = new TreeMap<>();
-        for (int i = 0; i < x.length; i++) {
-            Double key = Double.valueOf(x[i]);
-            boolean exists = tm.containsKey(key);
-            if (exists) {
-
-                // Do nothing. Ignore duplicate keys
-            }
-            else {
-                tm.put(key, Integer.valueOf(i));
-            }
-        }
-        Object[] values = tm.values().toArray();
-        int[] order = new int[values.length];
-        for (int i = 0; i < values.length; i++) {
-            Integer tmp = (Integer) values[i];
-            order[i] = tmp.intValue();
-        }
-
-        return order;
+    public static int[] uniqueSort(double[] x) {
+        return UniqueSort.uniqueSort(x);
     }
 
     /**
@@ -546,26 +566,35 @@ public class Matlib {
      * @return order An array of indexes such that y = Array.sort(x) and
      * y = x(order) are the same.
      */
-    public static synchronized int[] uniqueSort(long[] x) {
-        TreeMap<Long, Integer> tm = new TreeMap<>();
-        for (int i = 0; i < x.length; i++) {
-            Long key = Long.valueOf(x[i]);
-            boolean exists = tm.containsKey(key);
-            if (exists) {
+    public static int[] uniqueSort(long[] x) {
+        return UniqueSort.uniqueSort(x);
+    }
 
-                // Do nothing. Ignore duplicate keys
-            }
-            else {
-                tm.put(key, Integer.valueOf(i));
-            }
-        }
-        Object[] values = tm.values().toArray();
-        int[] order = new int[values.length];
-        for (int i = 0; i < values.length; i++) {
-            Integer tmp = (Integer) values[i];
-            order[i] = tmp.intValue();
-        }
+    /**
+     * Same as {@link #uniqueSort(double[])} but sorts pieces of the array in
+     * parallel using the common ForkJoinPool and merges the results. Only
+     * worth using on large arrays; arrays of 65,536 (2^16) values or fewer
+     * are sorted on the calling thread.
+     *
+     * @param x An array of data that is to be sorted.
+     * @return order An array of indexes such that y = Array.sort(x) and
+     * y = x(order) are the same.
+     */
+    public static int[] parallelUniqueSort(double[] x) {
+        return UniqueSort.parallelUniqueSort(x);
+    }
 
-        return order;
+    /**
+     * Same as {@link #uniqueSort(long[])} but sorts pieces of the array in
+     * parallel using the common ForkJoinPool and merges the results. Only
+     * worth using on large arrays; arrays of 65,536 (2^16) values or fewer
+     * are sorted on the calling thread.
+     *
+     * @param x An array of data that is to be sorted. (e.g. epoch millisecs)
+     * @return order An array of indexes such that y = Array.sort(x) and
+     * y = x(order) are the same.
+     */
+    public static int[] parallelUniqueSort(long[] x) {
+        return UniqueSort.parallelUniqueSort(x);
     }
 }
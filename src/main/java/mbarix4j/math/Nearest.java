@@ -0,0 +1,153 @@
+package mbarix4j.math;
+
+import java.util.Arrays;
+
+/**
+ * Nearest neighbor lookups of many keys at once. Used by the batch
+ * {@link Matlib#near(double[], double[], boolean)} methods. When the keys
+ * are sorted (e.g. matching video frame timestamps to navigation fixes)
+ * the values and keys are walked together in a single O(n + m) pass.
+ * Otherwise each key is a binary search, done in parallel when there are
+ * a lot of keys. Either way the answer for each key is the same as
+ * {@link Matlib#near(double[], double, boolean)}.
+ *
+ * @author Brian Schlining
+ * @since 2026-10-17
+ */
+class Nearest {
+
+    /** Unsorted key arrays longer than this are searched in parallel */
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private Nearest() {
+        // No instantiation
+    }
+
+    static int[] near(final double[] values, final double[] keys, final boolean inclusive) {
+        if (isSorted(keys)) {
+            return merge(values, keys, inclusive);
+        }
+        int[] idx = new int[keys.length];
+        if (keys.length > PARALLEL_THRESHOLD) {
+            Arrays.parallelSetAll(idx, i -> Matlib.near(values, keys[i], inclusive));
+        }
+        else {
+            for (int i = 0; i < keys.length; i++) {
+                idx[i] = Matlib.near(values, keys[i], inclusive);
+            }
+        }
+        return idx;
+    }
+
+    static int[] near(final long[] values, final long[] keys, final boolean inclusive) {
+        if (isSorted(keys)) {
+            return merge(values, keys, inclusive);
+        }
+        int[] idx = new int[keys.length];
+        if (keys.length > PARALLEL_THRESHOLD) {
+            Arrays.parallelSetAll(idx, i -> near(values, keys[i], inclusive));
+        }
+        else {
+            for (int i = 0; i < keys.length; i++) {
+                idx[i] = near(values, keys[i], inclusive);
+            }
+        }
+        return idx;
+    }
+
+    /**
+     * Same rules as {@link Matlib#near(double[], double, boolean)} but for long
+     * values such as timestamps.
+     */
+    static int near(final long[] values, final long key, final boolean inclusive) {
+        int last = values.length - 1;
+        if (key < values[0] || key > values[last]) {
+            if (inclusive) {
+                return -1;
+            }
+            return (key < values[0]) ? 0 : last;
+        }
+        int n = Arrays.binarySearch(values, key);
+        return (n >= 0) ? n : nearer(values, -n - 1, key);
+    }
+
+    private static int[] merge(final double[] values, final double[] keys, final boolean inclusive) {
+        int[] idx = new int[keys.length];
+        int last = values.length - 1;
+        int j = 0;
+        for (int i = 0; i < keys.length; i++) {
+            double key = keys[i];
+            if (!inclusive && key <= values[0]) {
+                idx[i] = 0;
+            }
+            else if (!inclusive && key >= values[last]) {
+                idx[i] = last;
+            }
+            else {
+                while (j <= last && values[j] < key) {
+                    j++;
+                }
+                if (j <= last && values[j] == key) {
+                    idx[i] = j;
+                }
+                else if (j == 0 || j > last) {
+                    idx[i] = inclusive ? -1 : Math.min(j, last);
+                }
+                else {
+                    double d1 = Math.abs(values[j - 1] - key);
+                    double d2 = Math.abs(values[j] - key);
+                    idx[i] = (d1 <= d2) ? j - 1 : j;
+                }
+            }
+        }
+        return idx;
+    }
+
+    private static int[] merge(final long[] values, final long[] keys, final boolean inclusive) {
+        int[] idx = new int[keys.length];
+        int last = values.length - 1;
+        int j = 0;
+        for (int i = 0; i < keys.length; i++) {
+            long key = keys[i];
+            if (key < values[0] || key > values[last]) {
+                idx[i] = inclusive ? -1 : ((key < values[0]) ? 0 : last);
+            }
+            else {
+                while (values[j] < key) {
+                    j++;
+                }
+                idx[i] = (values[j] == key) ? j : nearer(values, j, key);
+            }
+        }
+        return idx;
+    }
+
+    /**
+     * @param n The insertion point of key, which lies between values[n - 1] and values[n]
+     * @return n - 1 or n, whichever is closer to key. Ties go to n - 1
+     */
+    private static int nearer(final long[] values, final int n, final long key) {
+        // Compare the gaps as unsigned so they can't overflow
+        long d1 = key - values[n - 1];
+        long d2 = values[n] - key;
+        return (Long.compareUnsigned(d1, d2) <= 0) ? n - 1 : n;
+    }
+
+    private static boolean isSorted(final double[] keys) {
+        for (int i = 1; i < keys.length; i++) {
+            if (!(keys[i] >= keys[i - 1])) {
+                return false;       // Also catches NaN
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSorted(final long[] keys) {
+        for (int i = 1; i < keys.length; i++) {
+            if (keys[i] < keys[i - 1]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,86 @@
+package mbarix4j.math;
+
+/**
+ * Piecewise cubic Hermite interpolation (PCHIP) against a fixed reference
+ * grid, the same method as Matlab's pchip. The slopes at each point are
+ * chosen (Fritsch-Carlson) so the result is smooth but never overshoots the
+ * data: it is monotonic wherever the data is and preserves local maxima and
+ * minima. The coefficients are computed once when the interpolator is
+ * built so it can be evaluated many times without any allocation. Points
+ * outside the grid evaluate to NaN.
+ *
+ * @author Brian Schlining
+ * @since 2026-10-17
+ */
+public class PchipInterpolator extends PiecewiseInterpolator {
+
+    private final double[] b;
+    private final double[] c;
+    private final double[] d;
+
+    /**
+     *
+     * @param x The reference grid. Must be sorted and contain no duplicates.
+     * @param y The values at each point in x
+     * @throws IllegalArgumentException if x is not monotonic or x and y are
+     *      different lengths
+     */
+    public PchipInterpolator(double[] x, double[] y) {
+        super(x, y);
+        int n = x.length - 1;
+        double[] h = new double[n];
+        double[] delta = new double[n];
+        for (int i = 0; i < n; i++) {
+            h[i] = x[i + 1] - x[i];
+            delta[i] = (y[i + 1] - y[i]) / h[i];
+        }
+
+        double[] slopes = new double[n + 1];
+        if (n == 1) {
+            slopes[0] = delta[0];
+            slopes[1] = delta[0];
+        }
+        else {
+            for (int i = 1; i < n; i++) {
+                if (delta[i - 1] * delta[i] > 0) {
+                    // Weighted harmonic mean of the neighboring slopes
+                    double w1 = 2 * h[i] + h[i - 1];
+                    double w2 = h[i] + 2 * h[i - 1];
+                    slopes[i] = (w1 + w2) / (w1 / delta[i - 1] + w2 / delta[i]);
+                }
+            }
+            slopes[0] = endSlope(h[0], h[1], delta[0], delta[1]);
+            slopes[n] = endSlope(h[n - 1], h[n - 2], delta[n - 1], delta[n - 2]);
+        }
+
+        b = slopes;
+        c = new double[n];
+        d = new double[n];
+        for (int i = 0; i < n; i++) {
+            c[i] = (3 * delta[i] - 2 * slopes[i] - slopes[i + 1]) / h[i];
+            d[i] = (slopes[i] - 2 * delta[i] + slopes[i + 1]) / (h[i] * h[i]);
+        }
+    }
+
+    /**
+     * Three point estimate of the slope at an end, limited so it doesn't
+     * overshoot.
+     */
+    private static double endSlope(double h0, double h1, double delta0, double delta1) {
+        double slope = ((2 * h0 + h1) * delta0 - h0 * delta1) / (h0 + h1);
+        if (Math.signum(slope) != Math.signum(delta0)) {
+            slope = 0;
+        }
+        else if (Math.signum(delta0) != Math.signum(delta1) && Math.abs(slope) > Math.abs(3 * delta0)) {
+            slope = 3 * delta0;
+        }
+        return slope;
+    }
+
+    @Override
+    protected double evaluate(int i, double xi) {
+        double t = xi - x[i];
+        return y[i] + t * (b[i] + t * (c[i] + t * d[i]));
+    }
+
+}
@@ -0,0 +1,122 @@
+package mbarix4j.math;
+
+import java.util.Arrays;
+
+/**
+ * Base class for interpolators that fit a separate function to each segment,
+ * x[i] to x[i + 1], of a reference grid. This class validates and holds the
+ * grid and finds the segment for each point; subclasses precompute their
+ * coefficients in the constructor and evaluate a single segment.
+ *
+ * @author Brian Schlining
+ * @since 2026-10-17
+ */
+public abstract class PiecewiseInterpolator implements Interpolator {
+
+    protected final double[] x;
+    protected final double[] y;
+
+    /**
+     *
+     * @param x The reference grid. Must be sorted and contain no duplicates.
+     * @param y The values at each point in x
+     * @throws IllegalArgumentException if x is not monotonic or x and y are
+     *      different lengths
+     */
+    protected PiecewiseInterpolator(double[] x, double[] y) {
+        if (x.length != y.length) {
+            throw new IllegalArgumentException("X and Y must be the same length");
+        }
+        if (x.length <= 1) {
+            throw new IllegalArgumentException("X must contain more than one value");
+        }
+        for (int i = 1; i < x.length; i++) {
+            double dx = x[i] - x[i - 1];
+            if (dx == 0) {
+                throw new IllegalArgumentException("X must be montotonic. A duplicate " + "x-value was found");
+            }
+            if (dx < 0) {
+                throw new IllegalArgumentException("X must be sorted");
+            }
+        }
+        this.x = Arrays.copyOf(x, x.length);
+        this.y = Arrays.copyOf(y, y.length);
+    }
+
+    /**
+     * Evaluate segment i at a point strictly between x[i] and x[i + 1].
+     *
+     * @param i The segment index
+     * @param xi The point to evaluate
+     * @return The interpolated value
+     */
+    protected abstract double evaluate(int i, double xi);
+
+    @Override
+    public double interpolate(double xi) {
+        if (!inRange(xi)) {
+            return Double.NaN;
+        }
+        int loc = Arrays.binarySearch(x, xi);
+        return (loc < 0) ? evaluate(-loc - 2, xi) : y[loc];
+    }
+
+    @Override
+    public void interpolate(double[] xi, double[] yi) {
+        int segment = 0;
+        for (int i = 0; i < xi.length; i++) {
+            double v = xi[i];
+            if (!inRange(v)) {
+                yi[i] = Double.NaN;
+            }
+            else {
+                segment = findSegment(v, segment);
+                yi[i] = (v == x[segment]) ? y[segment] : evaluate(segment, v);
+            }
+        }
+    }
+
+    /**
+     * @return A copy of the reference grid
+     */
+    public double[] getX() {
+        return Arrays.copyOf(x, x.length);
+    }
+
+    /**
+     * @return A copy of the values at each point in the reference grid
+     */
+    public double[] getY() {
+        return Arrays.copyOf(y, y.length);
+    }
+
+    private boolean inRange(double xi) {
+        return (xi >= x[0]) && (xi <= x[x.length - 1]);
+    }
+
+    /**
+     * Find the index, i, of the segment such that x[i] &lt;= xi &lt; x[i + 1]. The
+     * search starts at the segment used for the previous point. For sorted
+     * queries the answer is nearly always that segment or the next one.
+     * The last point in the grid maps to x.length - 1.
+     */
+    private int findSegment(double xi, int hint) {
+        int last = x.length - 1;
+        if (xi >= x[hint]) {
+            if (hint == last || xi < x[hint + 1]) {
+                return hint;
+            }
+            if (hint + 2 > last || xi < x[hint + 2]) {
+                return hint + 1;
+            }
+            return locate(xi, hint + 2, last + 1);
+        }
+        return locate(xi, 0, hint);
+    }
+
+    private int locate(double xi, int fromIndex, int toIndex) {
+        int loc = Arrays.binarySearch(x, fromIndex, toIndex, xi);
+        return (loc < 0) ? -loc - 2 : loc;
+    }
+
+}
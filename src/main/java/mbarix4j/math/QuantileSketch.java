@@ -0,0 +1,412 @@
+package mbarix4j.math;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Approximate quantiles of an unbounded stream in bounded memory using a KLL
+ * sketch. Where {@link Statlib#percentile(double[], double)} needs all the
+ * data in one array, a sketch only keeps a few times k values no matter how many
+ * it has seen. Sketches built on different threads (or different days of
+ * data) can be merged, and a sketch can be saved with {@link #toBytes()}.
+ *
+ * <p>The error is bounded in rank, not value: with probability 99%, the value
+ * returned for percent p has a true rank within p &plusmn;
+ * {@link #getNormalizedRankError(int)} (about 1.3% for the default k of 200).
+ * Until more than k values are added the sketch is exact and
+ * {@link #getQuantile(double)} returns exactly what
+ * {@link Statlib#percentile(double[], double)} would.</p>
+ *
+ * <p>NaN's are ignored. Not thread-safe.</p>
+ *
+ * References: Karnin, Z., K. Lang and E. Liberty, 2016: Optimal Quantile
+ * Approximation in Streams. IEEE 57th Annual Symposium on Foundations of
+ * Computer Science (FOCS), 71-78.
+ *
+ * @author Brian Schlining
+ * @since 2026-10-17
+ */
+public class QuantileSketch implements DoubleConsumer {
+
+    /** Default size parameter. ~1.3% rank error */
+    public static final int DEFAULT_K = 200;
+
+    /** Marks the start of a serialized sketch ("KLL1") */
+    private static final int MAGIC = 0x4B4C4C31;
+
+    private static final int MIN_K = 8;
+    private static final int MAX_K = (1 << 16) - 1;
+    private static final int MIN_LEVEL_CAPACITY = 8;
+    private static final double CAPACITY_DECAY = 2D / 3D;
+
+    private final int k;
+    private final SplittableRandom random;
+    private double[][] levels;
+    private int[] sizes;
+    private int numLevels;
+    private long n;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    /** Sorted values and their cumulative weights, rebuilt when the sketch changes */
+    private double[] sortedValues;
+    private long[] cumulativeWeights;
+
+    /**
+     * Create a sketch with the default k of 200
+     */
+    public QuantileSketch() {
+        this(DEFAULT_K);
+    }
+
+    /**
+     * @param k Size parameter. Larger is more accurate and uses more memory. Must be
+     *          between 8 and 65535
+     */
+    public QuantileSketch(int k) {
+        this(k, new SplittableRandom());
+    }
+
+    QuantileSketch(int k, SplittableRandom random) {
+        checkK(k);
+        this.k = k;
+        this.random = random;
+        levels = new double[][] {new double[k]};
+        sizes = new int[1];
+        numLevels = 1;
+    }
+
+    /**
+     * The rank error, with 99% confidence, of a single quantile query.
+     * Empirical fit from the Apache DataSketches KLL implementation.
+     *
+     * @param k Size parameter of the sketch
+     * @return The rank error as a fraction (e.g. 0.013 for 1.3%)
+     */
+    public static double getNormalizedRankError(int k) {
+        return 2.296 / Math.pow(k, 0.9723);
+    }
+
+    /**
+     * Add a value to the sketch
+     *
+     * @param value
+     */
+    @Override
+    public void accept(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        n++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        append(0, value);
+        sortedValues = null;
+        if (retained() > totalCapacity()) {
+            compress();
+        }
+    }
+
+    /**
+     * Add every value in an array
+     *
+     * @param values
+     * @return this
+     */
+    public QuantileSketch addAll(double[] values) {
+        for (double v : values) {
+            accept(v);
+        }
+        return this;
+    }
+
+    /**
+     * Merge another sketch into this one. The other sketch is not modified.
+     * Merging a sketch with itself counts every value twice.
+     *
+     * @param other
+     * @return this
+     */
+    public QuantileSketch merge(QuantileSketch other) {
+        if (other.n == 0) {
+            return this;
+        }
+        // Snapshot the other sketch first; it may be this one
+        int otherLevels = other.numLevels;
+        int[] otherSizes = Arrays.copyOf(other.sizes, otherLevels);
+        double[][] otherValues = Arrays.copyOf(other.levels, otherLevels);
+        while (numLevels < otherLevels) {
+            addLevel();
+        }
+        for (int h = 0; h < otherLevels; h++) {
+            for (int i = 0; i < otherSizes[h]; i++) {
+                append(h, otherValues[h][i]);
+            }
+        }
+        n += other.n;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        sortedValues = null;
+        compress();
+        return this;
+    }
+
+    /**
+     * Retrieve the approximate value at some percent, using the same
+     * definition of rank as {@link Statlib#percentile(double[], double)}.
+     *
+     * @param percent The percent cut off, between 0 and 1.
+     * @return The value at that percentile. NaN if the sketch is empty
+     */
+    public double getQuantile(double percent) {
+        if (percent < 0 || percent > 1) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 1, found was " + percent);
+        }
+        if (n == 0) {
+            return Double.NaN;
+        }
+        if (percent == 0) {
+            return min;
+        }
+        if (percent == 1) {
+            return max;
+        }
+        buildSortedView();
+        long rank = Math.min(Math.max(Math.round(n * percent), 1L), n);
+        int i = Arrays.binarySearch(cumulativeWeights, rank);
+        if (i < 0) {
+            i = -i - 1;
+        }
+        return sortedValues[Math.min(i, sortedValues.length - 1)];
+    }
+
+    /**
+     * @param percents The percent cut offs, each between 0 and 1.
+     * @return The value at each percentile
+     */
+    public double[] getQuantiles(double... percents) {
+        double[] q = new double[percents.length];
+        for (int i = 0; i < percents.length; i++) {
+            q[i] = getQuantile(percents[i]);
+        }
+        return q;
+    }
+
+    /**
+     * @param value
+     * @return The approximate fraction of values that are &lt;= value
+     */
+    public double getRank(double value) {
+        if (n == 0) {
+            return Double.NaN;
+        }
+        buildSortedView();
+        int i = Arrays.binarySearch(sortedValues, value);
+        if (i >= 0) {
+            // Step past any duplicates of value
+            while (i + 1 < sortedValues.length && sortedValues[i + 1] == value) {
+                i++;
+            }
+        }
+        else {
+            i = -i - 2;
+        }
+        return (i < 0) ? 0D : cumulativeWeights[i] / (double) n;
+    }
+
+    /**
+     * @return The number of values added to the sketch
+     */
+    public long getN() {
+        return n;
+    }
+
+    /**
+     * @return The size parameter of the sketch
+     */
+    public int getK() {
+        return k;
+    }
+
+    /**
+     * @return The smallest value added. NaN if the sketch is empty
+     */
+    public double getMin() {
+        return (n == 0) ? Double.NaN : min;
+    }
+
+    /**
+     * @return The largest value added. NaN if the sketch is empty
+     */
+    public double getMax() {
+        return (n == 0) ? Double.NaN : max;
+    }
+
+    /**
+     * @return The number of values actually held by the sketch
+     */
+    public int getRetained() {
+        return retained();
+    }
+
+    /**
+     * Serialize the sketch. Restore it with {@link #fromBytes(byte[])}
+     *
+     * @return The sketch as a compact array of bytes
+     */
+    public byte[] toBytes() {
+        int retained = retained();
+        ByteBuffer buf = ByteBuffer.allocate(4 + 4 + 8 + 8 + 8 + 4 + 4 * numLevels + 8 * retained);
+        buf.putInt(MAGIC).putInt(k).putLong(n).putDouble(min).putDouble(max).putInt(numLevels);
+        for (int h = 0; h < numLevels; h++) {
+            buf.putInt(sizes[h]);
+            for (int i = 0; i < sizes[h]; i++) {
+                buf.putDouble(levels[h][i]);
+            }
+        }
+        return buf.array();
+    }
+
+    /**
+     * @param bytes A sketch serialized with {@link #toBytes()}
+     * @return The restored sketch
+     * @throws IllegalArgumentException if bytes do not contain a sketch
+     */
+    public static QuantileSketch fromBytes(byte[] bytes) {
+        ByteBuffer buf = ByteBuffer.wrap(bytes);
+        if (bytes.length < 36 || buf.getInt() != MAGIC) {
+            throw new IllegalArgumentException("The bytes do not contain a serialized QuantileSketch");
+        }
+        QuantileSketch sketch = new QuantileSketch(buf.getInt());    // Checks k before allocating
+        sketch.n = buf.getLong();
+        sketch.min = buf.getDouble();
+        sketch.max = buf.getDouble();
+        int numLevels = buf.getInt();
+        if (sketch.n < 0 || numLevels < 1 || numLevels > Long.SIZE - 1 || buf.remaining() < 4L * numLevels) {
+            throw new IllegalArgumentException("The serialized QuantileSketch is corrupt");
+        }
+        for (int h = 0; h < numLevels; h++) {
+            if (h >= sketch.numLevels) {
+                sketch.addLevel();
+            }
+            int size = (buf.remaining() < 4) ? -1 : buf.getInt();
+            if (size < 0 || buf.remaining() < 8L * size) {
+                throw new IllegalArgumentException("The serialized QuantileSketch is truncated or corrupt");
+            }
+            for (int i = 0; i < size; i++) {
+                sketch.append(h, buf.getDouble());
+            }
+        }
+        return sketch;
+    }
+
+    private static void checkK(int k) {
+        if (k < MIN_K || k > MAX_K) {
+            throw new IllegalArgumentException("k must be between " + MIN_K + " and " + MAX_K + ", found was " + k);
+        }
+    }
+
+    private int retained() {
+        int r = 0;
+        for (int h = 0; h < numLevels; h++) {
+            r += sizes[h];
+        }
+        return r;
+    }
+
+    /**
+     * Lower levels get geometrically smaller capacities. Level numLevels - 1
+     * (the top, with the heaviest items) has a capacity of k.
+     */
+    private int capacity(int level) {
+        int depth = numLevels - level - 1;
+        return Math.max(MIN_LEVEL_CAPACITY, (int) Math.ceil(k * Math.pow(CAPACITY_DECAY, depth)));
+    }
+
+    private int totalCapacity() {
+        int c = 0;
+        for (int h = 0; h < numLevels; h++) {
+            c += capacity(h);
+        }
+        return c;
+    }
+
+    private void append(int level, double value) {
+        double[] buf = levels[level];
+        if (sizes[level] == buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(MIN_LEVEL_CAPACITY, buf.length * 2));
+            levels[level] = buf;
+        }
+        buf[sizes[level]++] = value;
+    }
+
+    private void addLevel() {
+        levels = Arrays.copyOf(levels, numLevels + 1);
+        sizes = Arrays.copyOf(sizes, numLevels + 1);
+        levels[numLevels] = new double[MIN_LEVEL_CAPACITY];
+        numLevels++;
+    }
+
+    private void compress() {
+        while (retained() > totalCapacity()) {
+            int h = 0;
+            while (sizes[h] < capacity(h)) {
+                h++;
+            }
+            if (h == numLevels - 1) {
+                addLevel();
+            }
+            compact(h);
+        }
+    }
+
+    /**
+     * Sort a level then promote every other value (starting at a random
+     * offset) to the next level, where each one counts twice. With an odd
+     * number of values the smallest one stays behind.
+     */
+    private void compact(int level) {
+        double[] buf = levels[level];
+        int size = sizes[level];
+        Arrays.sort(buf, 0, size);
+        int start = size % 2;
+        int offset = random.nextBoolean() ? 1 : 0;
+        for (int i = start + offset; i < size; i += 2) {
+            append(level + 1, buf[i]);
+        }
+        sizes[level] = start;
+    }
+
+    private void buildSortedView() {
+        if (sortedValues != null) {
+            return;
+        }
+        int retained = retained();
+        double[] values = new double[retained];
+        long[] weights = new long[retained];
+        int m = 0;
+        for (int h = 0; h < numLevels; h++) {
+            Arrays.sort(levels[h], 0, sizes[h]);
+            long weight = 1L << h;
+            for (int i = 0; i < sizes[h]; i++) {
+                values[m] = levels[h][i];
+                weights[m++] = weight;
+            }
+        }
+
+        // Sort values, carrying their weights along
+        int[] order = UniqueSort.sortIndex(values);
+        double[] v = new double[retained];
+        long[] cw = new long[retained];
+        long total = 0;
+        for (int i = 0; i < retained; i++) {
+            v[i] = values[order[i]];
+            total += weights[order[i]];
+            cw[i] = total;
+        }
+        sortedValues = v;
+        cumulativeWeights = cw;
+    }
+}
@@ -0,0 +1,140 @@
+package mbarix4j.math;
+
+/**
+ * Single pass, mergeable statistics for paired samples (x, y). Along with
+ * {@link RunningStatistics} for each variable it tracks the co-moment so the
+ * covariance and Pearson's correlation coefficient can be computed without
+ * keeping the data. It is not thread-safe; give each thread its own instance
+ * and {@link #combine(RunningCovariance)} them at the end.
+ *
+ * @author Brian Schlining
+ * @since 2026-10-17
+ */
+public class RunningCovariance {
+
+    private final RunningStatistics x = new RunningStatistics();
+    private final RunningStatistics y = new RunningStatistics();
+    private double c2;
+
+    /**
+     * Create an empty accumulator
+     */
+    public RunningCovariance() {
+    }
+
+    /**
+     * Add a single pair of samples
+     *
+     * @param xi
+     * @param yi
+     */
+    public void accept(double xi, double yi) {
+        // The x mean must be updated before the y delta is applied
+        double dx = xi - x.rawMean();
+        x.accept(xi);
+        y.accept(yi);
+        c2 += dx * (yi - y.getMean());
+    }
+
+    /**
+     * Add every pair in two arrays
+     *
+     * @param xs
+     * @param ys
+     * @return this
+     */
+    public RunningCovariance addAll(double[] xs, double[] ys) {
+        return addAll(xs, ys, 0, xs.length);
+    }
+
+    /**
+     * Add the pairs xs[fromIndex], ys[fromIndex] to xs[toIndex - 1], ys[toIndex - 1]
+     *
+     * @param xs
+     * @param ys
+     * @param fromIndex first index (inclusive)
+     * @param toIndex last index (exclusive)
+     * @return this
+     */
+    public RunningCovariance addAll(double[] xs, double[] ys, int fromIndex, int toIndex) {
+        if (xs.length != ys.length) {
+            throw new IllegalArgumentException("The double arrays must be the same length!!! " + xs.length +
+                    " != " + ys.length);
+        }
+        for (int i = fromIndex; i < toIndex; i++) {
+            accept(xs[i], ys[i]);
+        }
+        return this;
+    }
+
+    /**
+     * Merge the samples summarized by another accumulator into this one.
+     *
+     * @param other
+     * @return this
+     */
+    public RunningCovariance combine(RunningCovariance other) {
+        long n1 = getCount();
+        long n2 = other.getCount();
+        if (n2 > 0) {
+            if (n1 == 0) {
+                c2 = other.c2;
+            }
+            else {
+                double dx = other.x.getMean() - x.getMean();
+                double dy = other.y.getMean() - y.getMean();
+                c2 += other.c2 + dx * dy * ((double) n1 * n2 / (n1 + n2));
+            }
+            x.combine(other.x);
+            y.combine(other.y);
+        }
+        return this;
+    }
+
+    /**
+     * @return The number of pairs
+     */
+    public long getCount() {
+        return x.getCount();
+    }
+
+    /**
+     * @return A copy of the statistics for the x samples. Adding to it does
+     *      not change this accumulator
+     */
+    public RunningStatistics getX() {
+        return new RunningStatistics().combine(x);
+    }
+
+    /**
+     * @return A copy of the statistics for the y samples. Adding to it does
+     *      not change this accumulator
+     */
+    public RunningStatistics getY() {
+        return new RunningStatistics().combine(y);
+    }
+
+    /**
+     * @return The sample covariance normalized by N - 1
+     */
+    public double getCovariance() {
+        long n = getCount();
+        return (n < 2) ? Double.NaN : c2 / (n - 1);
+    }
+
+    /**
+     * @return The covariance normalized by N
+     */
+    public double getPopulationCovariance() {
+        long n = getCount();
+        return (n == 0) ? Double.NaN : c2 / n;
+    }
+
+    /**
+     * @return Pearson's correlation coefficient. See
+     *      {@link Statlib#pearsonsCorrelation(double[], double[])}
+     */
+    public double getCorrelation() {
+        return getPopulationCovariance() / (x.getPopulationStandardDeviation() * y.getPopulationStandardDeviation());
+    }
+}
@@ -0,0 +1,200 @@
+package mbarix4j.math;
+
+import java.util.function.DoubleConsumer;
+import java.util.stream.DoubleStream;
+
+/**
+ * Single pass, mergeable summary statistics (count, mean, variance, min and
+ * max) using Welford's algorithm. Use it for data that arrives in pieces or
+ * is too large to hold in one array. It is not thread-safe; give each thread
+ * its own instance and {@link #combine(RunningStatistics)} them at the end.
+ *
+ * <pre>
+ *     RunningStatistics stats = new RunningStatistics();
+ *     stats.addAll(chunk1);
+ *     stats.addAll(chunk2);
+ *     double std = stats.getStandardDeviation();
+ *
+ *     // Or from a stream
+ *     RunningStatistics stats = DoubleStream.of(values)
+ *             .parallel()
+ *             .collect(RunningStatistics::new, RunningStatistics::accept, RunningStatistics::combine);
+ * </pre>
+ *
+ * References: Chan, T.F., G.H. Golub and R.J. LeVeque, 1979: Updating formulae
+ * and a pairwise algorithm for computing sample variances. Technical Report
+ * STAN-CS-79-773, Stanford University.
+ *
+ * @author Brian Schlining
+ * @since 2026-10-17
+ */
+public class RunningStatistics implements DoubleConsumer {
+
+    private long count;
+    private double mean;
+    private double m2;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Create an empty accumulator
+     */
+    public RunningStatistics() {
+    }
+
+    /**
+     * Summarize a stream of values. Parallel streams are summarized in parallel.
+     *
+     * @param values
+     * @return A RunningStatistics containing every value in the stream
+     */
+    public static RunningStatistics of(DoubleStream values) {
+        return values.collect(RunningStatistics::new, RunningStatistics::accept, RunningStatistics::combine);
+    }
+
+    /**
+     * Add a single sample
+     *
+     * @param value
+     */
+    @Override
+    public void accept(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Add every value in an array
+     *
+     * @param values
+     * @return this
+     */
+    public RunningStatistics addAll(double[] values) {
+        return addAll(values, 0, values.length);
+    }
+
+    /**
+     * Add values[fromIndex] to values[toIndex - 1]
+     *
+     * @param values
+     * @param fromIndex first index (inclusive)
+     * @param toIndex last index (exclusive)
+     * @return this
+     */
+    public RunningStatistics addAll(double[] values, int fromIndex, int toIndex) {
+        for (int i = fromIndex; i < toIndex; i++) {
+            accept(values[i]);
+        }
+        return this;
+    }
+
+    /**
+     * Merge the samples summarized by another accumulator into this one.
+     *
+     * @param other
+     * @return this
+     */
+    public RunningStatistics combine(RunningStatistics other) {
+        if (other.count == 0) {
+            return this;
+        }
+        if (count == 0) {
+            count = other.count;
+            mean = other.mean;
+            m2 = other.m2;
+            min = other.min;
+            max = other.max;
+            return this;
+        }
+        long n = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / n;
+        m2 += other.m2 + delta * delta * ((double) count * other.count / n);
+        count = n;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        return this;
+    }
+
+    /**
+     * @return The number of samples
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return The mean of the samples. NaN if there are no samples
+     */
+    public double getMean() {
+        return (count == 0) ? Double.NaN : mean;
+    }
+
+    /**
+     * The running mean, which is 0 rather than NaN when there are no samples
+     */
+    double rawMean() {
+        return mean;
+    }
+
+    /**
+     * @return The sum of the samples
+     */
+    public double getSum() {
+        return mean * count;
+    }
+
+    /**
+     * @return The smallest sample. NaN if there are no samples
+     */
+    public double getMin() {
+        return (count == 0) ? Double.NaN : min;
+    }
+
+    /**
+     * @return The largest sample. NaN if there are no samples
+     */
+    public double getMax() {
+        return (count == 0) ? Double.NaN : max;
+    }
+
+    /**
+     * @return The variance normalized by N - 1. See {@link Statlib#variance(double[])}
+     */
+    public double getVariance() {
+        return (count < 2) ? Double.NaN : m2 / (count - 1);
+    }
+
+    /**
+     * @return The variance normalized by N. See {@link Statlib#populationVariance(double[])}
+     */
+    public double getPopulationVariance() {
+        return (count == 0) ? Double.NaN : m2 / count;
+    }
+
+    /**
+     * @return The standard deviation normalized by N - 1. See
+     *      {@link Statlib#standardDeviation(double[])}
+     */
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+
+    /**
+     * @return The standard deviation normalized by N. See
+     *      {@link Statlib#populationStandardDeviation(double[])}
+     */
+    public double getPopulationStandardDeviation() {
+        return Math.sqrt(getPopulationVariance());
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{count=" + count + ", mean=" + getMean() + ", std=" +
+                getStandardDeviation() + ", min=" + getMin() + ", max=" + getMax() + "}";
+    }
+}
@@ -0,0 +1,149 @@
+package mbarix4j.math;
+
+import java.util.Arrays;
+
+/**
+ * Introselect (quickselect that falls back to a full sort if it stops making
+ * progress) used by {@link Statlib} to find order statistics in O(n) instead
+ * of sorting the whole array. The arrays passed in are partially reordered.
+ *
+ * @author Brian Schlining
+ * @since 2026-10-17
+ */
+class Selection {
+
+    /** Ranges this small are finished off with an insertion sort */
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private Selection() {
+        // No instantiation
+    }
+
+    /**
+     * Copy values into a new array with any NaN's moved to the end, which
+     * is where Arrays.sort would put them. Only the first {@code n} values
+     * (returned in {@code count[0]}) need to be selected on.
+     */
+    static double[] copyWithNaNsLast(double[] values, int[] count) {
+        double[] v = new double[values.length];
+        int m = 0;
+        for (double d : values) {
+            if (!Double.isNaN(d)) {
+                v[m++] = d;
+            }
+        }
+        Arrays.fill(v, m, v.length, Double.NaN);
+        count[0] = m;
+        return v;
+    }
+
+    /**
+     * Reorder a[from, to) so that a[k] holds the value that would be there if
+     * the range were sorted, with smaller values before it and larger ones after.
+     *
+     * @return a[k]
+     */
+    static double select(double[] a, int from, int to, int k) {
+        select(a, from, to - 1, new int[] {k}, 0, 0, depthLimit(to - from));
+        return a[k];
+    }
+
+    /**
+     * Same as {@link #select(double[], int, int, int)} for several ranks at
+     * once. Each partition step only recurses into the sides that still
+     * contain a requested rank, so finding 5 quantiles costs little more than
+     * finding one.
+     *
+     * @param ranks The ranks to select. Must be sorted in ascending order
+     */
+    static void select(double[] a, int from, int to, int[] ranks) {
+        if (ranks.length > 0) {
+            select(a, from, to - 1, ranks, 0, ranks.length - 1, depthLimit(to - from));
+        }
+    }
+
+    private static int depthLimit(int n) {
+        return 2 * (32 - Integer.numberOfLeadingZeros(Math.max(n, 1)));
+    }
+
+    /**
+     * @param left first index of the range (inclusive)
+     * @param right last index of the range (inclusive)
+     * @param kFrom first index into ranks that falls in the range
+     * @param kTo last index into ranks that falls in the range
+     */
+    private static void select(double[] a, int left, int right, int[] ranks, int kFrom, int kTo, int depth) {
+        while (kFrom <= kTo && right > left) {
+            if (right - left < INSERTION_SORT_THRESHOLD) {
+                insertionSort(a, left, right);
+                return;
+            }
+            if (depth-- == 0) {
+                Arrays.sort(a, left, right + 1);
+                return;
+            }
+
+            // Three way partition around a median-of-three pivot:
+            // a[left, lt) < pivot, a[lt, gt] == pivot, a(gt, right] > pivot
+            double pivot = medianOfThree(a[left], a[(left + right) >>> 1], a[right]);
+            int lt = left;
+            int gt = right;
+            int i = left;
+            while (i <= gt) {
+                double v = a[i];
+                if (v < pivot) {
+                    a[i++] = a[lt];
+                    a[lt++] = v;
+                }
+                else if (v > pivot) {
+                    a[i] = a[gt];
+                    a[gt--] = v;
+                }
+                else {
+                    i++;
+                }
+            }
+
+            // Split the requested ranks into those left of, inside and right of the pivot run
+            int leftEnd = kFrom;
+            while (leftEnd <= kTo && ranks[leftEnd] < lt) {
+                leftEnd++;
+            }
+            int rightStart = leftEnd;
+            while (rightStart <= kTo && ranks[rightStart] <= gt) {
+                rightStart++;
+            }
+
+            // Recurse into the smaller number of ranks, loop on the other
+            if (leftEnd - kFrom < kTo - rightStart + 1) {
+                select(a, left, lt - 1, ranks, kFrom, leftEnd - 1, depth);
+                left = gt + 1;
+                kFrom = rightStart;
+            }
+            else {
+                select(a, gt + 1, right, ranks, rightStart, kTo, depth);
+                right = lt - 1;
+                kTo = leftEnd - 1;
+            }
+        }
+    }
+
+    private static double medianOfThree(double a, double b, double c) {
+        if (a < b) {
+            return (b < c) ? b : Math.max(a, c);
+        }
+        return (a < c) ? a : Math.max(b, c);
+    }
+
+    private static void insertionSort(double[] a, int left, int right) {
+        for (int i = left + 1; i <= right; i++) {
+            double v = a[i];
+            int j = i - 1;
+            while (j >= left && a[j] > v) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = v;
+        }
+    }
+}
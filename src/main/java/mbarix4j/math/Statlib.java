@@ -88,31 +88,31 @@ public class Statlib {
     }
 
     /**
+     * Calculate the median. Uses a selection algorithm so the cost is O(n)
+     * rather than the O(n log n) of sorting. The values array is not modified.
      *
      * @param values
      * @return
      */
     public static double median(double[] values) {
-        double[] v = new double[values.length];
-        double median = Double.NaN;
-        if ((v == null) || (v.length == 0)) {
+        if ((values == null) || (values.length == 0)) {
             throw new IllegalArgumentException("The data array either is null or does not contain any data.");
         }
-        else if (v.length == 1) {
-            median = v[0];
+        else if (values.length == 1) {
+            return values[0];
+        }
+
+        int[] count = new int[1];
+        double[] v = Selection.copyWithNaNsLast(values, count);
+        int i = v.length / 2;
+        double median;
+        if (DoubleMath.isEven(v.length)) {
+            int[] ranks = {i - 1, i};
+            Selection.select(v, 0, count[0], trimRanks(ranks, count[0]));
+            median = (v[i - 1] + v[i]) / 2;
         }
         else {
-            System.arraycopy(values, 0, v, 0, values.length);
-            Arrays.sort(v);
-            if (DoubleMath.isEven(v.length)) {
-                int i = (int) Math.ceil(v.length / 2D);
-                double n1 = v[i];
-                double n0 = v[i - 1];
-                median = (n0 + n1) / 2;
-            }
-            else {
-                median = v[v.length / 2];
-            }
+            median = (i < count[0]) ? Selection.select(v, 0, count[0], i) : Double.NaN;
         }
 
         return median;
@@ -213,7 +213,8 @@ public class Statlib {
     }
 
     /**
-     * Retrive the value at some percent. e.g. percentile(a, .5) = median(a)
+     * Retrive the value at some percent. e.g. percentile(a, .5) = median(a).
+     * Uses a selection algorithm, the values array is not sorted or modified.
      * @param values
      * @param percent The percent cut off. For the lower quartile use 0.25,
      *      for the upper-quartile use 0.75
@@ -230,22 +231,81 @@ public class Statlib {
         }
 
 
-        // Rank order the values
-        double[] v = new double[values.length];
-        System.arraycopy(values, 0, v, 0, values.length);
-        Arrays.sort(v);
+        int n = percentileRank(values.length, percent);
+        int[] count = new int[1];
+        double[] v = Selection.copyWithNaNsLast(values, count);
+
+        return (n < count[0]) ? Selection.select(v, 0, count[0], n) : Double.NaN;
+    }
+
+    /**
+     * Retrieve the values at several percents with a single partitioning of
+     * the data. This is much cheaper than calling
+     * {@link #percentile(double[], double)} once for each percent.
+     * e.g. percentiles(a, 0.05, 0.25, 0.5, 0.75, 0.95)
+     *
+     * @param values
+     * @param percents The percent cut offs, each between 0 and 1. They do not
+     *      need to be in order.
+     * @return The values that occur at each percentile, in the same order as
+     *      percents
+     */
+    public static double[] percentiles(double[] values, double... percents) {
+        for (double percent : percents) {
+            if (percent < 0 || percent > 1) {
+                throw new IllegalArgumentException("Percentile must be between 0 and 1, found was " +
+                        percent);
+            }
+        }
+
+        if ((values == null) || (values.length == 0)) {
+            throw new IllegalArgumentException("The data array either is null or does not contain any data.");
+        }
+
+        int[] ranks = new int[percents.length];
+        for (int i = 0; i < percents.length; i++) {
+            ranks[i] = percentileRank(values.length, percents[i]);
+        }
+        int[] sortedRanks = Arrays.stream(ranks).sorted().distinct().toArray();
+
+        int[] count = new int[1];
+        double[] v = Selection.copyWithNaNsLast(values, count);
+        Selection.select(v, 0, count[0], trimRanks(sortedRanks, count[0]));
+
+        double[] p = new double[ranks.length];
+        for (int i = 0; i < ranks.length; i++) {
+            p[i] = v[ranks[i]];
+        }
+
+        return p;
+    }
 
-        int n = (int) Math.round(v.length * percent) - 1;
+    /**
+     * @return The index into the sorted values for a percentile
+     */
+    private static int percentileRank(int length, double percent) {
+        int n = (int) Math.round(length * percent) - 1;
 
         if (n < 0) {
             n = 0;
         }
-        else if (n > values.length - 1) {
-            n = values.length - 1;
+        else if (n > length - 1) {
+            n = length - 1;
         }
 
+        return n;
+    }
 
-        return v[n];
+    /**
+     * Drops the ranks that land on NaN's (which are already at the end of the
+     * array) from a sorted array of ranks.
+     */
+    private static int[] trimRanks(int[] sortedRanks, int count) {
+        int n = sortedRanks.length;
+        while (n > 0 && sortedRanks[n - 1] >= count) {
+            n--;
+        }
+        return (n == sortedRanks.length) ? sortedRanks : Arrays.copyOf(sortedRanks, n);
     }
 
     /**
@@ -300,44 +360,24 @@ public class Statlib {
      *             be ordered or the data will not be valid.
      * @param inclusive
      * @return
+     * @see Histogram#ofCenters(double[], boolean)
      */
     public static double[] hist(double[] data, double[] centers, boolean inclusive) {
-        double[] histogram = new double[centers.length];
-        for (double datum : data) {
-            int n = Matlib.near(centers, datum, inclusive);
-            if (n >= 0) {
-                histogram[n] = histogram[n] + 1;
-            }
-        }
-        return histogram;
+        return Histogram.ofCenters(centers, inclusive).countAsDoubles(data);
     }
 
+    /**
+     * Counts the values that fall between edges. Bin k counts the values where
+     * edges[k] &lt;= value &lt; edges[k + 1]; the last bin counts the values equal
+     * to the last edge. Use {@link Histogram} directly for long counts or to
+     * count large arrays in parallel.
+     *
+     * @param data The data to bin
+     * @param edges The bin edges. They MUST be ordered
+     * @return The number of values in each bin
+     */
     public static double[] histc(double[] data, double[] edges) {
-        double[] histogram = new double[edges.length];
-        for (double datum : data) {
-            int idx = Arrays.binarySearch(edges, datum);
-            if (idx < 0) {
-                idx = -idx - 1;
-                if (idx <= 0 || idx >= edges.length) {
-                    idx = -1;
-                }
-                else if (idx > edges.length - 2) {
-                    idx = edges.length - 2;
-                }
-                else if (idx <= 0) {
-                    idx = 0;
-                }
-                else {
-                    idx = idx - 1;
-                }
-            }
-
-            if (idx >= 0) {
-                histogram[idx] = histogram[idx] + 1;
-            }
-        }
-
-        return histogram;
+        return Histogram.ofEdges(edges).countAsDoubles(data);
     }
 
 
@@ -0,0 +1,271 @@
+package mbarix4j.math;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Primitive implementation behind {@link Matlib#uniqueSort(long[])} and
+ * {@link Matlib#uniqueSort(double[])}. Keys are sorted along with their
+ * original indices using a stable LSD radix sort, so when duplicate keys are
+ * removed the first occurrence is the one that survives. Doubles are mapped to
+ * longs that sort in the same order as {@link Double#compare(double, double)},
+ * which is the order the old TreeMap implementation used.
+ *
+ * @author Brian Schlining
+ * @since 2026-10-17
+ */
+class UniqueSort {
+
+    /** At or below this size the parallel sort just sorts on the current thread. Documented in Matlib */
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX = 1 << RADIX_BITS;
+    private static final int RADIX_MASK = RADIX - 1;
+
+    private UniqueSort() {
+        // No instantiation
+    }
+
+    static int[] uniqueSort(long[] x) {
+        return toKeys(x, 0, x.length).sort().index();
+    }
+
+    static int[] uniqueSort(double[] x) {
+        return toKeys(x, 0, x.length).sort().index();
+    }
+
+    /**
+     * Same as {@link #uniqueSort(double[])} but duplicates are kept, in the
+     * order they occur in x.
+     */
+    static int[] sortIndex(double[] x) {
+        return toKeys(x, 0, x.length).radixSort().index();
+    }
+
+    static int[] parallelUniqueSort(long[] x) {
+        if (x.length <= PARALLEL_THRESHOLD) {
+            return uniqueSort(x);
+        }
+        return ForkJoinPool.commonPool().invoke(new SortTask(x, null, 0, x.length)).index();
+    }
+
+    static int[] parallelUniqueSort(double[] x) {
+        if (x.length <= PARALLEL_THRESHOLD) {
+            return uniqueSort(x);
+        }
+        return ForkJoinPool.commonPool().invoke(new SortTask(null, x, 0, x.length)).index();
+    }
+
+    /**
+     * Maps a double to a long such that signed comparison of the longs gives
+     * the same order as Double.compare. NaN's are collapsed into a single value.
+     */
+    static long sortableBits(double v) {
+        long bits = Double.doubleToLongBits(v);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    private static Run toKeys(long[] x, int from, int to) {
+        int n = to - from;
+        long[] keys = new long[n];
+        int[] index = new int[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = x[from + i];
+            index[i] = from + i;
+        }
+        return new Run(keys, index, n);
+    }
+
+    private static Run toKeys(double[] x, int from, int to) {
+        int n = to - from;
+        long[] keys = new long[n];
+        int[] index = new int[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = sortableBits(x[from + i]);
+            index[i] = from + i;
+        }
+        return new Run(keys, index, n);
+    }
+
+    /**
+     * Sorted keys and their original indices. Only the first <i>size</i>
+     * elements of the arrays are used.
+     */
+    private static class Run {
+
+        long[] keys;
+        int[] index;
+        int size;
+
+        Run(long[] keys, int[] index, int size) {
+            this.keys = keys;
+            this.index = index;
+            this.size = size;
+        }
+
+        /**
+         * Radix sort the keys (and indices) then drop duplicates, keeping
+         * the first occurrence.
+         */
+        Run sort() {
+            radixSort();
+            int n = size;
+            if (n < 2) {
+                return this;
+            }
+            long[] k = keys;
+            int[] idx = index;
+
+            // The sort is stable so the first of a run of equal keys has the lowest index
+            int m = 1;
+            for (int i = 1; i < n; i++) {
+                if (k[i] != k[m - 1]) {
+                    k[m] = k[i];
+                    idx[m] = idx[i];
+                    m++;
+                }
+            }
+            size = m;
+            return this;
+        }
+
+        /**
+         * Stable radix sort of the keys (and indices). Byte positions where
+         * every key has the same value are skipped, which for timestamps is
+         * most of the high bytes.
+         */
+        Run radixSort() {
+            int n = size;
+            if (n < 2) {
+                return this;
+            }
+            long[] k = keys;
+            int[] idx = index;
+            long[] kBuf = new long[n];
+            int[] idxBuf = new int[n];
+            int[] count = new int[RADIX + 1];
+            for (int shift = 0; shift < 64; shift += RADIX_BITS) {
+                Arrays.fill(count, 0);
+                for (int i = 0; i < n; i++) {
+                    count[digit(k[i], shift) + 1]++;
+                }
+                if (isTrivialPass(count, n)) {
+                    continue;
+                }
+                for (int i = 0; i < RADIX; i++) {
+                    count[i + 1] += count[i];
+                }
+                for (int i = 0; i < n; i++) {
+                    int pos = count[digit(k[i], shift)]++;
+                    kBuf[pos] = k[i];
+                    idxBuf[pos] = idx[i];
+                }
+                long[] tk = k;
+                k = kBuf;
+                kBuf = tk;
+                int[] ti = idx;
+                idx = idxBuf;
+                idxBuf = ti;
+            }
+            keys = k;
+            index = idx;
+            return this;
+        }
+
+        int[] index() {
+            if (index.length == size) {
+                return index;
+            }
+            int[] order = new int[size];
+            System.arraycopy(index, 0, order, 0, size);
+            return order;
+        }
+
+        /**
+         * Merge two sorted, duplicate free runs. On equal keys the left run wins,
+         * as it always holds the lower indices.
+         */
+        static Run merge(Run left, Run right) {
+            long[] keys = new long[left.size + right.size];
+            int[] index = new int[keys.length];
+            int i = 0;
+            int j = 0;
+            int m = 0;
+            while (i < left.size && j < right.size) {
+                long a = left.keys[i];
+                long b = right.keys[j];
+                if (a < b) {
+                    keys[m] = a;
+                    index[m++] = left.index[i++];
+                }
+                else if (b < a) {
+                    keys[m] = b;
+                    index[m++] = right.index[j++];
+                }
+                else {
+                    keys[m] = a;
+                    index[m++] = left.index[i++];
+                    j++;
+                }
+            }
+            while (i < left.size) {
+                keys[m] = left.keys[i];
+                index[m++] = left.index[i++];
+            }
+            while (j < right.size) {
+                keys[m] = right.keys[j];
+                index[m++] = right.index[j++];
+            }
+            return new Run(keys, index, m);
+        }
+
+        /** Flip the sign bit so an unsigned digit-wise sort gives signed order */
+        private static int digit(long key, int shift) {
+            return (int) (((key ^ Long.MIN_VALUE) >>> shift) & RADIX_MASK);
+        }
+
+        private static boolean isTrivialPass(int[] count, int n) {
+            for (int i = 1; i <= RADIX; i++) {
+                if (count[i] == n) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Splits the array in half until the pieces are small enough to radix
+     * sort, then merges the sorted pieces back together.
+     */
+    private static class SortTask extends RecursiveTask<Run> {
+
+        private final long[] longs;
+        private final double[] doubles;
+        private final int from;
+        private final int to;
+
+        SortTask(long[] longs, double[] doubles, int from, int to) {
+            this.longs = longs;
+            this.doubles = doubles;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Run compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                Run run = (longs != null) ? toKeys(longs, from, to) : toKeys(doubles, from, to);
+                return run.sort();
+            }
+            int mid = (from + to) >>> 1;
+            SortTask left = new SortTask(longs, doubles, from, mid);
+            SortTask right = new SortTask(longs, doubles, mid, to);
+            left.fork();
+            Run rightRun = right.compute();
+            return Run.merge(left.join(), rightRun);
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package mbarix4j.model.solar;
+
+import java.util.stream.IntStream;
+import mbarix4j.solar.SolarPosition;
+import mbarix4j.util.TimeUtilities;
+
+/**
+ * Daily integrated clear sky irradiance (e.g. daily PAR) from a
+ * {@link FrouinIrradianceModel}. The spectrum at each time is integrated over
+ * wavelength with precomputed trapezoid weights, and that is integrated over
+ * the daylight hours with adaptive Simpson quadrature. The sunrise and sunset
+ * are found from the hour angle of the sun so no time is spent at night.
+ *
+ * <pre>
+ *     FrouinIrradianceModel model = new FrouinIrradianceModel(Matlib.linspace(400, 700, 31));
+ *     DailyIrradiance par = new DailyIrradiance(model, DailyIrradiance.Units.QUANTA);
+ *     double molPerM2 = par.integrate(day, 36.747, -122.022);
+ * </pre>
+ *
+ * @author Brian Schlining
+ * @since 2026-10-17
+ */
+public class DailyIrradiance {
+
+    /** Default relative tolerance of the daily integral */
+    public static final double DEFAULT_TOLERANCE = 1E-6;
+
+    private static final double MILLIS_PER_RADIAN = TimeUtilities.MILLIS_PER_DAY / (2 * Math.PI);
+
+    /** Simpson panels the daylight is split into before adapting */
+    private static final int PANELS = 4;
+
+    /** Finest time step the quadrature will use (ms). SolarPosition works in whole seconds */
+    private static final double MIN_STEP = 1000;
+
+    /** mW cm^-2 um^-1 times nm to W m^-2 */
+    private static final double TO_WATTS = 10D / 1000D;
+
+    /** Planck's constant (J s) * speed of light (m/s) * Avogadro's number (1/mol) */
+    private static final double HC_NA = 6.62607015E-34 * 299792458D * 6.02214076E23;
+
+    /**
+     * Units of the band integrated irradiance
+     */
+    public enum Units {
+        /** Energy. W m^-2, or J m^-2 when integrated over time */
+        ENERGY,
+        /** Photons. mol quanta m^-2 s^-1, or mol quanta (Einsteins) m^-2 when integrated over time */
+        QUANTA
+    }
+
+    private final FrouinIrradianceModel model;
+    private final Units units;
+    private final double tolerance;
+    private final double[] weights;
+    private final double[] tauAer;
+    private final double dobson;
+
+    /**
+     * @param model The irradiance model. Its wavelengths set the band that is
+     *              integrated (e.g. 400 - 700 nm for PAR)
+     * @param units The units of the result
+     */
+    public DailyIrradiance(FrouinIrradianceModel model, Units units) {
+        this(model, units, DEFAULT_TOLERANCE);
+    }
+
+    /**
+     * @param model The irradiance model. Its wavelengths set the band that is integrated
+     * @param units The units of the result
+     * @param tolerance The relative tolerance of the daily integral
+     */
+    public DailyIrradiance(FrouinIrradianceModel model, Units units, double tolerance) {
+        this(model, units, tolerance, -999, -999, -999);
+    }
+
+    /**
+     * @param model The irradiance model. Its wavelengths set the band that is integrated
+     * @param units The units of the result
+     * @param tolerance The relative tolerance of the daily integral
+     * @param TauA865 aerosol optical thickness, 865 nm. &lt;= 0 for the default
+     * @param Angstrom Angstrom coefficient. &lt;= 0 for the default
+     * @param Dobson ozone amount in Dobson units. &lt;= 0 to use the climatology
+     */
+    public DailyIrradiance(FrouinIrradianceModel model, Units units, double tolerance, double TauA865,
+            double Angstrom, double Dobson) {
+        if (!(tolerance > 0)) {
+            throw new IllegalArgumentException("The tolerance must be greater than 0. Found " + tolerance);
+        }
+        double[] wl = model.getWavelength();
+        if (wl.length < 2) {
+            throw new IllegalArgumentException("The model needs at least 2 wavelengths to integrate over");
+        }
+        this.model = model;
+        this.units = units;
+        this.tolerance = tolerance;
+        this.tauAer = model.aerosolOpticalThickness(TauA865, Angstrom);
+        this.dobson = Dobson;
+
+        this.weights = bandWeights(wl, units);
+    }
+
+    /**
+     * Trapezoid weights so the band integral of a spectrum is its dot product
+     * with the weights
+     *
+     * @param wl wavelengths (nm)
+     * @param units ENERGY for W m^-2 or QUANTA for mol quanta m^-2 s^-1
+     */
+    static double[] bandWeights(double[] wl, Units units) {
+        double[] weights = new double[wl.length];
+        for (int i = 0; i < wl.length - 1; i++) {
+            double half = (wl[i + 1] - wl[i]) / 2D * TO_WATTS;
+            weights[i] += half;
+            weights[i + 1] += half;
+        }
+        if (units == Units.QUANTA) {
+            for (int i = 0; i < wl.length; i++) {
+                weights[i] *= wl[i] * 1E-9 / HC_NA;
+            }
+        }
+        return weights;
+    }
+
+    public Units getUnits() {
+        return units;
+    }
+
+    public double getTolerance() {
+        return tolerance;
+    }
+
+    /**
+     * The clear sky irradiance integrated over wavelength and over one day.
+     *
+     * @param day Any time on the GMT date of interest (epoch millis). The day
+     *            integrated is the one whose solar noon is nearest to local mean
+     *            noon on that date
+     * @param lat latitude (deg)
+     * @param lon longitude (deg)
+     * @return The daily integral in J m^-2 or mol quanta m^-2
+     */
+    public double integrate(long day, double lat, double lon) {
+        long[] daylight = daylight(day, lat, lon);
+        double a = daylight[0];
+        double b = daylight[1];
+        if (b <= a) {
+            return 0;
+        }
+        double[] scratch = new double[weights.length];
+
+        // Start with a few panels so a narrow peak can't hide between the first
+        // samples. Their sum sets the scale for the absolute tolerance.
+        double h = (b - a) / PANELS;
+        double[] fx = new double[2 * PANELS + 1];
+        for (int k = 0; k < fx.length; k++) {
+            fx[k] = f(a + k * h / 2, lat, lon, scratch);
+        }
+        double[] s = new double[PANELS];
+        double estimate = 0;
+        for (int k = 0; k < PANELS; k++) {
+            s[k] = h / 6 * (fx[2 * k] + 4 * fx[2 * k + 1] + fx[2 * k + 2]);
+            estimate += s[k];
+        }
+        if (estimate == 0) {
+            return 0;
+        }
+        double eps = 15 * tolerance * Math.abs(estimate) / PANELS;
+        double total = 0;
+        for (int k = 0; k < PANELS; k++) {
+            double x0 = a + k * h;
+            total += simpson(x0, x0 + h, fx[2 * k], fx[2 * k + 1], fx[2 * k + 2], s[k], eps, lat, lon, scratch);
+        }
+        return total / 1000D;   // ms to seconds
+    }
+
+    /**
+     * Daily integrals over a grid of days and sites.
+     *
+     * @param days The days (see {@link #integrate(long, double, double)})
+     * @param lat latitude of each site (deg)
+     * @param lon longitude of each site (deg)
+     * @param out Output as a flat [day x site] matrix: out[d * lat.length + s]
+     * @param parallel true to split the grid across the common ForkJoinPool
+     */
+    public void integrate(long[] days, double[] lat, double[] lon, double[] out, boolean parallel) {
+        int sites = lat.length;
+        if (lon.length < sites) {
+            throw new IllegalArgumentException("lon must be at least as long as lat");
+        }
+        if (out.length < (long) days.length * sites) {
+            throw new IllegalArgumentException("out must hold days.length * lat.length values");
+        }
+        IntStream stream = IntStream.range(0, days.length * sites);
+        if (parallel) {
+            stream = stream.parallel();
+        }
+        stream.forEach(i -> out[i] = integrate(days[i / sites], lat[i % sites], lon[i % sites]));
+    }
+
+    /**
+     * The sunrise and sunset (solar zenith of 90 degrees, no refraction) around
+     * the solar noon nearest to local mean noon on the GMT date of day. During a
+     * polar night both are solar noon. During a polar day they are 12 hours either
+     * side of solar noon.
+     *
+     * @param day Any time on the GMT date of interest (epoch millis)
+     * @param lat latitude (deg)
+     * @param lon longitude (deg)
+     * @return {sunrise, sunset} in epoch millis
+     */
+    public static long[] daylight(long day, double lat, double lon) {
+        long midnight = Math.floorDiv(day, TimeUtilities.MILLIS_PER_DAY) * TimeUtilities.MILLIS_PER_DAY;
+        double noon = midnight + TimeUtilities.MILLIS_PER_DAY / 2 - lon / 360D * TimeUtilities.MILLIS_PER_DAY;
+
+        // Solar noon is where the local hour angle is 0. Twice is plenty to converge
+        for (int i = 0; i < 2; i++) {
+            SolarPosition sp = new SolarPosition(Math.round(noon), lat, lon);
+            noon -= wrap(sp.getGreenwichHourAngle() + sp.getLongitude()) * MILLIS_PER_RADIAN;
+        }
+
+        // Hour angle of the sun at sunset, using the declination at that time
+        double latRadians = Math.toRadians(lat);
+        double halfDay = 0;
+        for (int i = 0; i < 3; i++) {
+            double declination = new SolarPosition(Math.round(noon + halfDay), lat, lon).getDeclination();
+            double cosH = -Math.tan(latRadians) * Math.tan(declination);
+            halfDay = (cosH >= 1) ? 0 : (cosH <= -1) ? Math.PI * MILLIS_PER_RADIAN : Math.acos(cosH) * MILLIS_PER_RADIAN;
+        }
+        return new long[] {Math.round(noon - halfDay), Math.round(noon + halfDay)};
+    }
+
+    private double f(double t, double lat, double lon, double[] scratch) {
+        return model.weightedIrradiance(Math.round(t), lat, lon, dobson, tauAer, weights, scratch);
+    }
+
+    /**
+     * Adaptive Simpson's rule on [a, b] given the end and mid points
+     */
+    private double simpson(double a, double b, double fa, double fm, double fb, double whole, double eps,
+            double lat, double lon, double[] scratch) {
+        double m = (a + b) / 2;
+        double lm = (a + m) / 2;
+        double rm = (m + b) / 2;
+        double flm = f(lm, lat, lon, scratch);
+        double frm = f(rm, lat, lon, scratch);
+        double h = (b - a) / 12;
+        double left = h * (fa + 4 * flm + fm);
+        double right = h * (fm + 4 * frm + fb);
+        double delta = left + right - whole;
+        if (Math.abs(delta) <= eps || (b - a) / 2 < MIN_STEP) {
+            return left + right + delta / 15;
+        }
+        return simpson(a, m, fa, flm, fm, left, eps / 2, lat, lon, scratch)
+                + simpson(m, b, fm, frm, fb, right, eps / 2, lat, lon, scratch);
+    }
+
+    private static double wrap(double radians) {
+        return Math.IEEEremainder(radians, 2 * Math.PI);
+    }
+}
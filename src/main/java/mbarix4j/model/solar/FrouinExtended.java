@@ -2,6 +2,7 @@ package mbarix4j.model.solar;
 
 import java.io.IOException;
 import java.text.DecimalFormat;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.TimeZone;
@@ -181,17 +182,13 @@ public class FrouinExtended {
        //Real*4   AsymFac, Beta, Tau, TauMol(6), TauAer(6), A, B, C
        //Real*4   ww, wl4, wl5, wl6, Gamma
 
-       double[] E0 = FrouinExtended.getE0(wl),
+       // The table interpolation and wavelength only terms are cached per wavelength grid
+       SpectralConstants constants = SpectralConstants.of(wl);
+       double[] E0 = constants.e0,
                E      = new double[wl.length],
-               TransG = new double[wl.length],
-               TransA = new double[wl.length],
-               Sa     = new double[wl.length],
-               kO3    = FrouinExtended.getKO3(wl),
-               //kO3    = {0.0, 3.0e-06, 2.2e-05, 4.1e-05, 9.5e-05, 4.6e-05},
-               //kO3    = {0.0, 0.000003, 0.000022, 0.000041, 0.000095, 0.000046},
-               //wl     = {412.0, 443.0, 490.0, 510.0, 555.0, 670.0}, //Default: wavelength in nm.  Note that microns used in TauMol calc.
-               TauMol = new double[wl.length],
-               TauAer = new double[wl.length];
+               ozone  = constants.ozoneFactor,
+               TauMol = constants.tauMol,
+               aerosolWavelength = constants.aerosolWavelength;
 
        double  EsFactor,
                SolZen,
@@ -201,13 +198,10 @@ public class FrouinExtended {
                AsymFac,
                Beta,
                Tau,
-               A,
-               B,
-               C,
-               ww,
-               wl4,
-               wl5,
-               wl6,
+               TauAer,
+               TransG,
+               TransA,
+               Sa,
                Gamma;
 
 
@@ -223,9 +217,7 @@ public class FrouinExtended {
          if ( (SolZen < 0.0) || (SolZen > 90.0) ) {
             //System.out.println("Crit. Error in FrouinExtended.posSol: SolZen = " + SolZen);
             //System.out.println("  should be in range 0 -- 90 degrees");
-            for(int i = 0; i < 6; i++) {
-               E[i] = -999.9;
-            }
+            Arrays.fill(E, -999.9);
             return E;
          }
 
@@ -256,11 +248,6 @@ public class FrouinExtended {
             Angstrom = -1.0 * Angstrom;
          }
 
-         // Setup for transmittance & irradiance equations:
-         A =  0.008435;  // A =  8.435e-03;
-         B = -0.0001225; // B = -1.225e-04;
-         C =  0.000140;  // C =  1.40e-04;
-
          AsymFac = 0.6666667;
          Beta    = 0.5 * ( 1.0 + AsymFac );
          Gamma   = 1.0 - AsymFac;
@@ -272,22 +259,16 @@ public class FrouinExtended {
          for (int i = 0; i < E.length; i++) {
 
             // Compute gaseous transmittance:
-            TransG[i] = Math.exp( -kO3[i] * Dobson / CosSolZen);
+            TransG = Math.exp( ozone[i] * Dobson / CosSolZen);
 
             // Compute diffuse atmospheric transmittance:
-            ww  = wl[i] / 1000.0;
-            wl4 = Math.pow(ww, 4.0);
-            wl5 = ww * wl4;
-            wl6 = ww * wl5;
-
-            TauMol[i] = (A / wl4) + (B / wl5) + (C / wl6);
-            TauAer[i] = TauA865 * Math.pow((wl[i] / 865.0), Angstrom);
-            Tau       = TauMol[i] + TauAer[i];
-            TransA[i] = Math.exp( -Tau / CosSolZen ) * Math.exp( (0.52*TauMol[i] + Beta*TauAer[i]) / CosSolZen );
+            TauAer = TauA865 * Math.pow(aerosolWavelength[i], Angstrom);
+            Tau    = TauMol[i] + TauAer;
+            TransA = Math.exp( -Tau / CosSolZen ) * Math.exp( (0.52*TauMol[i] + Beta*TauAer) / CosSolZen );
 
             // Compute spherical albedo of the atmosphere:
-            Sa[i] = Math.exp( -Tau ) * (0.92 * TauMol[i] + Gamma * TauAer[i] );
-            E[i] = E0[i] * EsFactor * CosSolZen * TransG[i] * TransA[i] / ( 1.0 - (Sa[i] * As) );
+            Sa   = Math.exp( -Tau ) * (0.92 * TauMol[i] + Gamma * TauAer );
+            E[i] = E0[i] * EsFactor * CosSolZen * TransG * TransA / ( 1.0 - (Sa * As) );
          }
 
          return E;
@@ -1,10 +1,14 @@
 package mbarix4j.model.solar;
 
-import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.Calendar;
+import java.util.function.IntToDoubleFunction;
 import mbarix4j.util.GmtCalendar;
 import mbarix4j.solar.SolarPosition;
 import mbarix4j.solar.SolarUtil;
+import mbarix4j.util.TimeUtilities;
+import mbarix4j.util.stream.StreamUtilities;
 
 /**
  * Title:
@@ -16,14 +20,26 @@ import mbarix4j.solar.SolarUtil;
  */
 public class FrouinIrradianceModel {
 
+    /** Value of E when the sun is below the horizon */
+    public static final double MISSING_VALUE = -999.9;
+
+    /** 1582-10-15T00:00:00Z. GmtCalendar uses the Julian calendar before this */
+    private static final long GREGORIAN_CHANGEOVER = -12219292800000L;
+
+    private static final double ASYM_FAC = 0.6666667;
+    private static final double BETA = 0.5 * (1.0 + ASYM_FAC);
+    private static final double GAMMA = 1.0 - ASYM_FAC;
+
     public FrouinIrradianceModel(double[] lambda) {
         this.wavelength = lambda;
-        this.E0 = SolarUtil.getNeckelLabIrradiance(lambda);
-        try {
-            this.kO3 = SolarUtil.getOzoneAbsorption(lambda);
-        }
-        catch (IOException e) {
-        }
+
+        // Everything that only depends on wavelength is done once, here.
+        SpectralConstants constants = SpectralConstants.of(lambda);
+        this.E0 = constants.e0;
+        this.kO3 = constants.kO3;
+        this.ozoneFactor = constants.ozoneFactor;
+        this.tauMol = constants.tauMol;
+        this.aerosolWavelength = constants.aerosolWavelength;
     }
 
     /**
@@ -94,59 +110,79 @@ public class FrouinIrradianceModel {
     public double[] calcIrradiance(long millis, double lat, double lon,
             double TauA865, double Angstrom, double Dobson) {
 
-        double[] wl = this.wavelength;
-        double[] E = new double[this.wavelength.length],
-                TransG = new double[this.wavelength.length],
-                TransA = new double[this.wavelength.length],
-                Sa = new double[this.wavelength.length],
-                TauMol = new double[this.wavelength.length],
-                TauAer = new double[this.wavelength.length];
-
-        double EsFactor,
-                SolZen,
-                CosSolZen,
-                SolAz,
-                As,
-                AsymFac,
-                Beta,
-                Tau,
-                A,
-                B,
-                C,
-                ww,
-                wl4,
-                wl5,
-                wl6,
-                Gamma;
-
-        int month = new GmtCalendar(millis).get(Calendar.MONTH) + 1; // Java months are 0 - 11
         SolarPosition sp = new SolarPosition(millis, lat, lon);
+        double[] E = new double[this.wavelength.length];
+        irradiance(month(millis), lat, sp.getZenith(), sp.getDistance(), Dobson,
+                aerosolOpticalThickness(TauA865, Angstrom), E, 0);
+        return E;
+    }
 
-        // Get Earth-Sun distance factor 'F':
-        EsFactor = 1 / sp.getDistance();
-
-        // Get Solar Zenith angle:
-        SolZen = sp.getZenith() * 180 / Math.PI;
-        SolAz = sp.getAzimuth() * 180 / Math.PI;
+    /**
+     * Time-series form of {@link #calcIrradiance(long, double, double, double, double, double)}
+     * at a fixed site. The solar positions are computed in bulk with
+     * {@link SolarPosition#calculate(long[], double, double, double[], double[], double[], double[], boolean)}
+     * and nothing is allocated per sample.
+     *
+     * @param millis Times in epoch millis (GMT)
+     * @param lat latitude (deg)
+     * @param lon longitude (deg)
+     * @param TauA865 aerosol optical thickness, 865 nm. &lt;= 0 for the default
+     * @param Angstrom Angstrom coefficient. &lt;= 0 for the default
+     * @param Dobson ozone amount in Dobson units. &lt;= 0 to use the climatology
+     * @param E Output. Surface solar irradiance (mW/cm^2/um) as a flat
+     *          [time x wavelength] matrix: E[t * nWavelengths + w]. Rows where the sun
+     *          is below the horizon are {@link #MISSING_VALUE}
+     * @param parallel true to split the times across the common ForkJoinPool
+     */
+    public void calcIrradiance(long[] millis, double lat, double lon, double TauA865, double Angstrom,
+            double Dobson, double[] E, boolean parallel) {
+        calcIrradiance(millis, i -> lat, i -> lon, TauA865, Angstrom, Dobson, E, parallel);
+    }
 
-        if ((SolZen < 0.0) || (SolZen > 90.0)) {
-            //System.out.println("Crit. Error in FrouinExtended.posSol: SolZen = " + SolZen);
-            //System.out.println("  should be in range 0 -- 90 degrees");
-            for (int i = 0; i < E.length; i++) {
-                E[i] = -999.9;
-            }
-            return E;
+    /**
+     * Time-series form of {@link #calcIrradiance(long, double, double, double, double, double)}
+     * for a moving platform, with a latitude and longitude for each time.
+     * See {@link #calcIrradiance(long[], double, double, double, double, double, double[], boolean)}
+     */
+    public void calcIrradiance(long[] millis, double[] lat, double[] lon, double TauA865, double Angstrom,
+            double Dobson, double[] E, boolean parallel) {
+        if (lat.length < millis.length || lon.length < millis.length) {
+            throw new IllegalArgumentException("lat and lon must have at least millis.length values");
         }
+        calcIrradiance(millis, i -> lat[i], i -> lon[i], TauA865, Angstrom, Dobson, E, parallel);
+    }
 
-        CosSolZen = Math.cos(SolZen * Math.PI / 180.0);
-
-        /////////////////////////////////////////////////
-        // Estimate key parameters if missing from input:
-
-        // Get Dobson climatology if necessary:
-        if (Dobson <= 0) {
-            Dobson = SolarUtil.estimateDobson(month, lat);
+    private void calcIrradiance(long[] millis, IntToDoubleFunction lat, IntToDoubleFunction lon,
+            double TauA865, double Angstrom, double Dobson, double[] E, boolean parallel) {
+        int n = millis.length;
+        int m = wavelength.length;
+        if (E.length < (long) n * m) {
+            throw new IllegalArgumentException("E must hold millis.length * wavelength.length values");
         }
+        double[] tauAer = aerosolOpticalThickness(TauA865, Angstrom);
+        StreamUtilities.forEachChunk(n, parallel, (from, to) -> {
+            int k = to - from;
+            long[] t = Arrays.copyOfRange(millis, from, to);
+            double[] latitude = new double[k];
+            double[] longitude = new double[k];
+            for (int i = 0; i < k; i++) {
+                latitude[i] = lat.applyAsDouble(from + i);
+                longitude[i] = lon.applyAsDouble(from + i);
+            }
+            double[] zenith = new double[k];
+            double[] distance = new double[k];
+            SolarPosition.calculate(t, latitude, longitude, zenith, null, null, distance, false);
+            for (int i = 0; i < k; i++) {
+                irradiance(month(t[i]), latitude[i], zenith[i], distance[i], Dobson, tauAer, E, (from + i) * m);
+            }
+        });
+    }
+
+    /**
+     * Aerosol optical thickness at each wavelength, filling in the defaults
+     * for missing (&lt;= 0) inputs.
+     */
+    double[] aerosolOpticalThickness(double TauA865, double Angstrom) {
 
         // Get default TauA865 if necessary:
         if (TauA865 <= 0) {
@@ -165,41 +201,110 @@ public class FrouinIrradianceModel {
             Angstrom = -1.0 * Angstrom;
         }
 
-        // Setup for transmittance & irradiance equations:
-        A = 0.008435;  // A =  8.435e-03;
-        B = -0.0001225; // B = -1.225e-04;
-        C = 0.000140;  // C =  1.40e-04;
+        double[] TauAer = new double[wavelength.length];
+        for (int i = 0; i < TauAer.length; i++) {
+            TauAer[i] = TauA865 * Math.pow(aerosolWavelength[i], Angstrom);
+        }
+        return TauAer;
+    }
 
-        AsymFac = 0.6666667;
-        Beta = 0.5 * (1.0 + AsymFac);
-        Gamma = 1.0 - AsymFac;
+    /**
+     * The irradiance at one time and place summed over wavelength with the
+     * given weights. 0 when the sun is below the horizon.
+     *
+     * @param E Scratch space for the spectrum. At least as long as the wavelengths
+     */
+    double weightedIrradiance(long millis, double lat, double lon, double Dobson, double[] TauAer,
+            double[] weights, double[] E) {
+        SolarPosition sp = new SolarPosition(millis, lat, lon);
+        return weightedIrradiance(month(millis), lat, sp.getZenith(), sp.getDistance(), Dobson, TauAer, weights, E);
+    }
+
+    /**
+     * Same as {@link #weightedIrradiance(long, double, double, double, double[], double[], double[])}
+     * when the solar position is already known.
+     *
+     * @param month 1-12
+     * @param zenith Solar zenith angle (radians)
+     * @param distance Earth-Sun distance (A.U.)
+     */
+    double weightedIrradiance(int month, double lat, double zenith, double distance, double Dobson,
+            double[] TauAer, double[] weights, double[] E) {
+        irradiance(month, lat, zenith, distance, Dobson, TauAer, E, 0);
+        if (E[0] == MISSING_VALUE) {
+            return 0;
+        }
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            sum += weights[i] * E[i];
+        }
+        // Right at the horizon TransA is exp(-inf) * exp(inf). The limit is 0
+        return Double.isNaN(sum) ? 0 : sum;
+    }
+
+    /**
+     * The irradiance at every wavelength for one time and place
+     *
+     * @param month 1-12
+     * @param lat latitude (deg)
+     * @param zenith Solar zenith angle (radians)
+     * @param distance Earth-Sun distance (A.U.)
+     * @param Dobson ozone amount in Dobson units. &lt;= 0 to use the climatology
+     * @param TauAer Aerosol optical thickness at each wavelength
+     * @param E Output
+     * @param offset index in E of the first wavelength
+     */
+    private void irradiance(int month, double lat, double zenith, double distance, double Dobson,
+            double[] TauAer, double[] E, int offset) {
+
+        int n = wavelength.length;
+
+        // Get Earth-Sun distance factor 'F':
+        double EsFactor = 1 / distance;
+
+        // Get Solar Zenith angle:
+        double SolZen = zenith * 180 / Math.PI;
+
+        if ((SolZen < 0.0) || (SolZen > 90.0)) {
+            Arrays.fill(E, offset, offset + n, MISSING_VALUE);
+            return;
+        }
+
+        double CosSolZen = Math.cos(SolZen * Math.PI / 180.0);
+
+        // Get Dobson climatology if necessary:
+        if (Dobson <= 0) {
+            Dobson = SolarUtil.estimateDobson(month, lat);
+        }
 
         // Calculate albedo of the ocean:
-        As = 0.05 / (1.1 * Math.pow(CosSolZen, 1.4) + 0.15);
+        double As = 0.05 / (1.1 * Math.pow(CosSolZen, 1.4) + 0.15);
 
         // Loop through wavelengths to estimate Surf.Sol.Irrad.:
-        for (int i = 0; i < E.length; i++) {
+        for (int i = 0; i < n; i++) {
 
             // Compute gaseous transmittance:
-            TransG[i] = Math.exp(-this.kO3[i] / 1000 * Dobson / CosSolZen);
+            double TransG = Math.exp(ozoneFactor[i] * Dobson / CosSolZen);
 
             // Compute diffuse atmospheric transmittance:
-            ww = wl[i] / 1000.0;
-            wl4 = Math.pow(ww, 4.0);
-            wl5 = ww * wl4;
-            wl6 = ww * wl5;
-
-            TauMol[i] = (A / wl4) + (B / wl5) + (C / wl6);
-            TauAer[i] = TauA865 * Math.pow((wl[i] / 865.0), Angstrom);
-            Tau = TauMol[i] + TauAer[i];
-            TransA[i] = Math.exp(-Tau / CosSolZen) * Math.exp((0.52 * TauMol[i] + Beta * TauAer[i]) / CosSolZen);
+            double Tau = tauMol[i] + TauAer[i];
+            double TransA = Math.exp(-Tau / CosSolZen) * Math.exp((0.52 * tauMol[i] + BETA * TauAer[i]) / CosSolZen);
 
             // Compute spherical albedo of the atmosphere:
-            Sa[i] = Math.exp(-Tau) * (0.92 * TauMol[i] + Gamma * TauAer[i]);
-            E[i] = E0[i] * EsFactor * CosSolZen * TransG[i] * TransA[i] / (1.0 - (Sa[i] * As));
+            double Sa = Math.exp(-Tau) * (0.92 * tauMol[i] + GAMMA * TauAer[i]);
+            E[offset + i] = E0[i] * EsFactor * CosSolZen * TransG * TransA / (1.0 - (Sa * As));
         }
+    }
 
-        return E;
+    /**
+     * The GMT month (1-12) without creating a calendar. java.time is
+     * proleptic Gregorian, so older dates still go through GmtCalendar.
+     */
+    static int month(long millis) {
+        if (millis < GREGORIAN_CHANGEOVER) {
+            return new GmtCalendar(millis).get(Calendar.MONTH) + 1; // Java months are 0 - 11
+        }
+        return LocalDate.ofEpochDay(Math.floorDiv(millis, TimeUtilities.MILLIS_PER_DAY)).getMonthValue();
     }
 
     public double[] calcIrradiance(long millis, double lat, double lon) {
@@ -233,6 +338,9 @@ public class FrouinIrradianceModel {
         return this.wavelength;
     }
     private double[] wavelength;
-    private double[] kO3;
-    private double[] E0;
+    private final double[] kO3;
+    private final double[] E0;
+    private final double[] ozoneFactor;
+    private final double[] tauMol;
+    private final double[] aerosolWavelength;
 }
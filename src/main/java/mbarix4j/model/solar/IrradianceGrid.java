@@ -0,0 +1,338 @@
+package mbarix4j.model.solar;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import mbarix4j.solar.SolarPosition;
+import mbarix4j.solar.SolarUtil;
+import mbarix4j.util.stream.StreamUtilities;
+
+/**
+ * Clear sky irradiance maps from a {@link FrouinIrradianceModel} on a
+ * latitude/longitude grid. The solar geometry is separable, so it is never
+ * computed per cell:
+ * <ul>
+ *     <li>Declination, Greenwich hour angle, Earth-Sun distance and month
+ *     depend only on time, and come from one SolarPosition per time step</li>
+ *     <li>sin and cos of latitude and the ozone climatology depend only on the row</li>
+ *     <li>cos of the local hour angle depends only on the column (and time)</li>
+ * </ul>
+ * Each cell then only needs its zenith angle and the spectral model. Rows are
+ * split into tiles that can run on the common ForkJoinPool.
+ *
+ * <p>{@link #write(long[], Path, boolean)} streams one map per time step to a
+ * binary raster file so a whole day (or year) never has to be in memory.</p>
+ *
+ * <pre>
+ *     FrouinIrradianceModel model = new FrouinIrradianceModel(Matlib.linspace(400, 700, 31));
+ *     IrradianceGrid grid = IrradianceGrid.global(model, DailyIrradiance.Units.QUANTA, 0.25);
+ *     grid.write(hourly, Paths.get("par.irrg"), true);
+ * </pre>
+ *
+ * @author Brian Schlining
+ * @since 2026-10-17
+ */
+public class IrradianceGrid {
+
+    private static final int MAGIC = 0x49525247;   // "IRRG"
+    private static final int VERSION = 1;
+
+    /** Rows per parallel tile */
+    private static final int TILE_ROWS = 8;
+
+    private final FrouinIrradianceModel model;
+    private final DailyIrradiance.Units units;
+    private final double[] latitude;
+    private final double[] longitude;
+    private final double[] weights;
+    private final double[] tauAer;
+    private final double dobson;
+    private final double[] sinLat;
+    private final double[] cosLat;
+    private final double[] lonRadians;
+
+    /**
+     * @param model The irradiance model. Its wavelengths set the band that is integrated
+     * @param units The units of each cell: W m^-2 or mol quanta m^-2 s^-1
+     * @param latitude Latitude of each row (deg)
+     * @param longitude Longitude of each column (deg)
+     */
+    public IrradianceGrid(FrouinIrradianceModel model, DailyIrradiance.Units units, double[] latitude,
+            double[] longitude) {
+        this(model, units, latitude, longitude, -999, -999, -999);
+    }
+
+    /**
+     * @param model The irradiance model. Its wavelengths set the band that is integrated
+     * @param units The units of each cell: W m^-2 or mol quanta m^-2 s^-1
+     * @param latitude Latitude of each row (deg)
+     * @param longitude Longitude of each column (deg)
+     * @param TauA865 aerosol optical thickness, 865 nm. &lt;= 0 for the default
+     * @param Angstrom Angstrom coefficient. &lt;= 0 for the default
+     * @param Dobson ozone amount in Dobson units. &lt;= 0 to use the climatology
+     */
+    public IrradianceGrid(FrouinIrradianceModel model, DailyIrradiance.Units units, double[] latitude,
+            double[] longitude, double TauA865, double Angstrom, double Dobson) {
+        double[] wl = model.getWavelength();
+        if (wl.length < 2) {
+            throw new IllegalArgumentException("The model needs at least 2 wavelengths to integrate over");
+        }
+        this.model = model;
+        this.units = units;
+        this.latitude = Arrays.copyOf(latitude, latitude.length);
+        this.longitude = Arrays.copyOf(longitude, longitude.length);
+        this.weights = DailyIrradiance.bandWeights(wl, units);
+        this.tauAer = model.aerosolOpticalThickness(TauA865, Angstrom);
+        this.dobson = Dobson;
+
+        // Same conversion as SolarPosition
+        sinLat = new double[latitude.length];
+        cosLat = new double[latitude.length];
+        for (int i = 0; i < latitude.length; i++) {
+            double lat = latitude[i] * (Math.PI) / 180D;
+            sinLat[i] = Math.sin(lat);
+            cosLat[i] = Math.cos(lat);
+        }
+        lonRadians = new double[longitude.length];
+        for (int j = 0; j < longitude.length; j++) {
+            lonRadians[j] = longitude[j] * (Math.PI) / 180D;
+        }
+    }
+
+    /**
+     * A global grid of cell centers. Row 0 is the northern most row and column
+     * 0 starts at -180.
+     *
+     * @param resolution The size of a cell (deg). e.g. 0.25
+     */
+    public static IrradianceGrid global(FrouinIrradianceModel model, DailyIrradiance.Units units,
+            double resolution) {
+        return global(model, units, resolution, -999, -999, -999);
+    }
+
+    /**
+     * A global grid of cell centers with a uniform atmosphere. See
+     * {@link #IrradianceGrid(FrouinIrradianceModel, DailyIrradiance.Units, double[], double[], double, double, double)}
+     *
+     * @param resolution The size of a cell (deg). e.g. 0.25
+     */
+    public static IrradianceGrid global(FrouinIrradianceModel model, DailyIrradiance.Units units,
+            double resolution, double TauA865, double Angstrom, double Dobson) {
+        int rows = (int) Math.round(180 / resolution);
+        int cols = (int) Math.round(360 / resolution);
+        double[] lat = new double[rows];
+        double[] lon = new double[cols];
+        for (int i = 0; i < rows; i++) {
+            lat[i] = 90 - (i + 0.5) * resolution;
+        }
+        for (int j = 0; j < cols; j++) {
+            lon[j] = -180 + (j + 0.5) * resolution;
+        }
+        return new IrradianceGrid(model, units, lat, lon, TauA865, Angstrom, Dobson);
+    }
+
+    public int getRows() {
+        return latitude.length;
+    }
+
+    public int getColumns() {
+        return longitude.length;
+    }
+
+    public double[] getLatitude() {
+        return Arrays.copyOf(latitude, latitude.length);
+    }
+
+    public double[] getLongitude() {
+        return Arrays.copyOf(longitude, longitude.length);
+    }
+
+    public DailyIrradiance.Units getUnits() {
+        return units;
+    }
+
+    /**
+     * The band integrated irradiance of every cell at one time. 0 at night.
+     *
+     * @param millis Time (epoch millis GMT)
+     * @param out Output as a flat [row x column] map: out[row * columns + column]
+     * @param parallel true to split the rows across the common ForkJoinPool
+     */
+    public void evaluate(long millis, float[] out, boolean parallel) {
+        checkLength(out.length);
+        evaluate(millis, parallel, (k, value) -> out[k] = (float) value);
+    }
+
+    /**
+     * The band integrated irradiance of every cell integrated over time with
+     * the trapezoid rule, e.g. daily PAR from hourly steps.
+     *
+     * @param millis The times to evaluate (epoch millis GMT). Must be increasing
+     * @param out Output in J m^-2 or mol quanta m^-2: out[row * columns + column]
+     * @param parallel true to split the rows across the common ForkJoinPool
+     */
+    public void integrate(long[] millis, double[] out, boolean parallel) {
+        checkLength(out.length);
+        int n = latitude.length * longitude.length;
+        Arrays.fill(out, 0, n, 0D);
+        for (int t = 0; t < millis.length; t++) {
+            double before = (t > 0) ? (millis[t] - millis[t - 1]) / 2000D : 0;
+            double after = (t < millis.length - 1) ? (millis[t + 1] - millis[t]) / 2000D : 0;
+            double dt = before + after;      // seconds
+            evaluate(millis[t], parallel, (k, value) -> out[k] += value * dt);
+        }
+    }
+
+    /**
+     * Evaluate each time step and append its map to a binary raster. Only one
+     * map is in memory at a time. The file is big-endian:
+     * <pre>
+     *     int magic, int version, int units (ordinal), int rows, int columns, int times
+     *     double[rows] latitude, double[columns] longitude, long[times] millis
+     *     float[times][rows][columns] irradiance
+     * </pre>
+     *
+     * @param millis The times to evaluate (epoch millis GMT)
+     * @param file The file to write. It is replaced if it exists
+     * @param parallel true to split the rows across the common ForkJoinPool
+     * @throws IOException if the file can not be written
+     */
+    public void write(long[] millis, Path file, boolean parallel) throws IOException {
+        int rows = latitude.length;
+        int cols = longitude.length;
+        ByteBuffer header = ByteBuffer.allocate(headerBytes(rows, cols, millis.length));
+        header.putInt(MAGIC).putInt(VERSION).putInt(units.ordinal())
+                .putInt(rows).putInt(cols).putInt(millis.length);
+        for (double lat : latitude) {
+            header.putDouble(lat);
+        }
+        for (double lon : longitude) {
+            header.putDouble(lon);
+        }
+        for (long t : millis) {
+            header.putLong(t);
+        }
+        header.flip();
+
+        float[] map = new float[rows * cols];
+        ByteBuffer buf = ByteBuffer.allocate(4 * rows * cols);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, header);
+            for (long t : millis) {
+                evaluate(t, map, parallel);
+                buf.clear();
+                buf.asFloatBuffer().put(map);
+                writeFully(channel, buf);
+            }
+        }
+    }
+
+    /**
+     * Read one map from a file made by {@link #write(long[], Path, boolean)}
+     *
+     * @param file The raster
+     * @param index The time step to read
+     * @return The map as [row x column]
+     * @throws IOException if the file can not be read or is not an irradiance raster
+     */
+    public static float[] read(Path file, int index) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buf = ByteBuffer.allocate(24);
+            readFully(channel, buf, 0);
+            if (buf.getInt() != MAGIC) {
+                throw new IOException(file + " is not an irradiance raster");
+            }
+            int version = buf.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported irradiance raster version " + version + " in " + file);
+            }
+            buf.getInt();
+            int rows = buf.getInt();
+            int cols = buf.getInt();
+            int times = buf.getInt();
+            if (index < 0 || index >= times) {
+                throw new IllegalArgumentException("Index " + index + " is outside 0 to " + (times - 1));
+            }
+            long position = headerBytes(rows, cols, times) + 4L * rows * cols * index;
+            ByteBuffer data = ByteBuffer.allocate(4 * rows * cols);
+            readFully(channel, data, position);
+            float[] map = new float[rows * cols];
+            data.asFloatBuffer().get(map);
+            return map;
+        }
+    }
+
+    @FunctionalInterface
+    private interface CellConsumer {
+        void accept(int index, double value);
+    }
+
+    private void evaluate(long millis, boolean parallel, CellConsumer consumer) {
+        // Terms that only depend on time
+        SolarPosition sp = new SolarPosition(millis, 0, 0);
+        double declination = sp.getDeclination();
+        double gha = sp.getGreenwichHourAngle();
+        double distance = sp.getDistance();
+        int month = FrouinIrradianceModel.month(millis);
+        double sinDec = Math.sin(declination);
+        double cosDec = Math.cos(declination);
+
+        // Terms that only depend on the column
+        int cols = longitude.length;
+        double[] cosLha = new double[cols];
+        for (int j = 0; j < cols; j++) {
+            cosLha[j] = Math.cos(gha + lonRadians[j]);
+        }
+
+        int rows = latitude.length;
+        StreamUtilities.forEachChunk(rows, TILE_ROWS, parallel, (from, to) -> {
+            double[] scratch = new double[weights.length];
+            for (int i = from; i < to; i++) {
+                // Terms that only depend on the row
+                double a = sinLat[i] * sinDec;
+                double b = cosLat[i] * cosDec;
+                double rowDobson = (dobson > 0) ? dobson : SolarUtil.estimateDobson(month, latitude[i]);
+                int k = i * cols;
+                for (int j = 0; j < cols; j++) {
+                    double cosZenith = a + b * cosLha[j];
+                    double value = 0;
+                    if (cosZenith > 0) {
+                        double zenith = Math.acos(Math.min(cosZenith, 1D));
+                        value = model.weightedIrradiance(month, latitude[i], zenith, distance, rowDobson,
+                                tauAer, weights, scratch);
+                    }
+                    consumer.accept(k + j, value);
+                }
+            }
+        });
+    }
+
+    private void checkLength(int length) {
+        if (length < latitude.length * longitude.length) {
+            throw new IllegalArgumentException("The output must hold rows * columns values");
+        }
+    }
+
+    private static int headerBytes(int rows, int cols, int times) {
+        return 6 * 4 + 8 * (rows + cols + times);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buf) throws IOException {
+        while (buf.hasRemaining()) {
+            channel.write(buf);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buf, long position) throws IOException {
+        while (buf.hasRemaining()) {
+            if (channel.read(buf, position + buf.position()) < 0) {
+                throw new IOException("Unexpected end of file");
+            }
+        }
+        buf.flip();
+    }
+}
@@ -0,0 +1,115 @@
+package mbarix4j.model.solar;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import mbarix4j.solar.SolarUtil;
+
+/**
+ * The wavelength-only terms of the Frouin clear sky irradiance model for one
+ * wavelength grid. Interpolating the Neckel and Labs and ozone tables and
+ * computing the Rayleigh optical thickness only needs to happen once per
+ * grid, so prepared grids are kept in a small LRU cache that is shared by
+ * {@link FrouinIrradianceModel} and {@link FrouinExtended}.
+ *
+ * @author Brian Schlining
+ * @since 2026-10-17
+ */
+final class SpectralConstants {
+
+    /** The maximum number of wavelength grids kept in the cache */
+    static final int CACHE_SIZE = 16;
+
+    // Setup for transmittance & irradiance equations:
+    private static final double A = 0.008435;  // A =  8.435e-03;
+    private static final double B = -0.0001225; // B = -1.225e-04;
+    private static final double C = 0.000140;  // C =  1.40e-04;
+
+    private static final Map<Key, SpectralConstants> CACHE = new LinkedHashMap<Key, SpectralConstants>(CACHE_SIZE, 0.75F, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, SpectralConstants> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    /** Extra-terrestrial irradiance (Neckel and Labs) */
+    final double[] e0;
+
+    /** Ozone absorption coefficients as read from the table */
+    final double[] kO3;
+
+    /** -kO3 / 1000. Multiply by Dobson units for the ozone optical thickness */
+    final double[] ozoneFactor;
+
+    /** Rayleigh (molecular) optical thickness */
+    final double[] tauMol;
+
+    /** wavelength / 865. Raise to the Angstrom coefficient for the aerosol optical thickness */
+    final double[] aerosolWavelength;
+
+    private SpectralConstants(double[] lambda) {
+        int n = lambda.length;
+        e0 = SolarUtil.getNeckelLabIrradiance(lambda);
+        try {
+            kO3 = SolarUtil.getOzoneAbsorption(lambda);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException("Failed to read the ozone absorption table", e);
+        }
+        ozoneFactor = new double[n];
+        tauMol = new double[n];
+        aerosolWavelength = new double[n];
+        for (int i = 0; i < n; i++) {
+            ozoneFactor[i] = -kO3[i] / 1000;
+            double ww = lambda[i] / 1000.0;
+            double wl4 = Math.pow(ww, 4.0);
+            double wl5 = ww * wl4;
+            double wl6 = ww * wl5;
+            tauMol[i] = (A / wl4) + (B / wl5) + (C / wl6);
+            aerosolWavelength[i] = lambda[i] / 865.0;
+        }
+    }
+
+    /**
+     * @param lambda wavelengths (nm)
+     * @return The constants for lambda, from the cache if the same grid was used recently
+     * @throws UncheckedIOException if the ozone absorption table can not be read. Nothing is cached
+     */
+    static SpectralConstants of(double[] lambda) {
+        Key key = new Key(lambda);
+        synchronized (CACHE) {
+            SpectralConstants constants = CACHE.get(key);
+            if (constants == null) {
+                constants = new SpectralConstants(key.lambda);
+                CACHE.put(key, constants);
+            }
+            return constants;
+        }
+    }
+
+    /**
+     * A wavelength grid compared by value. Holds its own copy so callers can
+     * reuse their arrays.
+     */
+    private static final class Key {
+        private final double[] lambda;
+        private final int hash;
+
+        Key(double[] lambda) {
+            this.lambda = Arrays.copyOf(lambda, lambda.length);
+            this.hash = Arrays.hashCode(lambda);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return (o instanceof Key) && Arrays.equals(lambda, ((Key) o).lambda);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package mbarix4j.ocean;
 
-import java.util.Arrays;
+import java.util.function.DoubleBinaryOperator;
+import mbarix4j.util.stream.StreamUtilities;
 
 /**
  * @author Brian Schlining
@@ -8,6 +9,15 @@ import java.util.Arrays;
  */
 public class Chlorophyll {
 
+    private static final double[] OC1A = {0.3734, -24529};
+    private static final double[] OC1B = {0.3636, -2.3500, -0.0100};
+    private static final double[] OC1C = {0.3920, -2.8550, 0.6580};
+    private static final double[] OC1D = {0.3335, -2.9164, 2.4686, -2.5195};
+    private static final double[] OC2V1 = {0.3410, -3.0010, 2.8110, -2.0410, -0.0400};
+    private static final double[] OC2V2 = {0.2974, -2.2429, 0.8358, -0.0077, -0.0929};
+    private static final double[] OC2V4 = {0.319, -2.336, 0.879, -0.135, -0.071};
+    private static final double[] OC4V4 = {0.366, -3.067, 1.930, 0.649, -1.532};
+
     /* CZVS Calculate Chl using CZCS algorythmn
          * @param Lw443 Water leaving radiance at 443nm
          * @param Lw550  Water leaving radiance at 550nm
@@ -28,7 +38,7 @@ public class Chlorophyll {
      * @return chlorophyll (ug/L)
      */
     public static double oc1a(double rrs490, double rrs555) {
-        double[] a = {0.3734, -24529};
+        double[] a = OC1A;
         double R = Math.log10(rrs490 / rrs555);
         return Math.pow(10, (a[0] + a[1] * R));
     }
@@ -44,7 +54,7 @@ public class Chlorophyll {
      * @return chlorophyll (ug/L)
      */
     public static double oc1b(double rrs490, double rrs555) {
-        double[] a = {0.3636, -2.3500, -0.0100};
+        double[] a = OC1B;
         double R = Math.log10(rrs490 / rrs555);
         return Math.pow(10, (a[0] + a[1] * R)) + a[2];
     }
@@ -60,9 +70,9 @@ public class Chlorophyll {
      * @return chlorophyll (ug/L)
      */
     public static double oc1c(double rrs490, double rrs555) {
-        double[] a = {0.3920, -2.8550, 0.6580};
+        double[] a = OC1C;
         double R = Math.log10(rrs490 / rrs555);
-        return Math.pow(10, (a[0] + a[1] * R + a[2] * R * R));
+        return Math.pow(10, (a[0] + (a[1] + a[2] * R) * R));
     }
 
     /**
@@ -76,9 +86,9 @@ public class Chlorophyll {
      * @return chlorophyll (ug/L)
      */
     public static double oc1d(double rrs490, double rrs555) {
-        double[] a = {0.3335, -2.9164, 2.4686, -2.5195};
+        double[] a = OC1D;
         double R = Math.log10(rrs490 / rrs555);
-        return Math.pow(10, (a[0] + a[1] * R + a[2] * R * R + a[3] * R * R * R));
+        return Math.pow(10, (a[0] + (a[1] + (a[2] + a[3] * R) * R) * R));
     }
 
     /**
@@ -92,9 +102,9 @@ public class Chlorophyll {
      * @return chlorophyll (ug/L)
      */
     public static double oc2v1(double rrs490, double rrs555) {
-        double a[] = {0.3410, -3.0010, 2.8110, -2.0410, -0.0400};
+        double[] a = OC2V1;
         double R = Math.log10(rrs490 / rrs555);
-        return Math.pow(10, (a[0] + a[1] * R + a[2] * R * R + a[3] * R * R * R)) + a[4];
+        return Math.pow(10, (a[0] + (a[1] + (a[2] + a[3] * R) * R) * R)) + a[4];
     }
 
     /**
@@ -119,9 +129,9 @@ public class Chlorophyll {
      * @return chlorophyll (ug/L)
      */
     public static double oc2v2(double lu490, double lu555) {
-        double[] a = {0.2974, -2.2429, 0.8358, -0.0077, -0.0929};
+        double[] a = OC2V2;
         double R = Math.log10(lu490 / lu555);
-        return Math.pow(10, (a[0] + a[1] * R + a[2] * R * R + a[3] * R * R * R)) + a[4];
+        return Math.pow(10, (a[0] + (a[1] + (a[2] + a[3] * R) * R) * R)) + a[4];
     }
 
     /**
@@ -139,9 +149,9 @@ public class Chlorophyll {
      * @return chlorophyll (ug/L)
      */
     public static double oc2v4(double rrs490, double rrs555) {
-        double[] a = {0.319, -2.336, 0.879, -0.135, -0.071};
+        double[] a = OC2V4;
         double R = Math.log10(rrs490 / rrs555);
-        return Math.pow(10.0, (a[0] + a[1] * R + a[2] * R * R + a[3] * R * R * R)) + a[4];
+        return Math.pow(10.0, (a[0] + (a[1] + (a[2] + a[3] * R) * R) * R)) + a[4];
     }
 
     /**
@@ -153,6 +163,8 @@ public class Chlorophyll {
      * Note: the units of rrs443, rrs490, rrs510 and rrs555 are not important.
      * however they must be the same for both inputs. If Rrs is
      * unavailable use Lw or Lwn.
+     * <p/>
+     * Returns NaN if any of the band ratios is not positive.
      *
      * @param rrs443 Remote sensing reflectance at 490 nm
      * @param rrs490 Remote sensing reflectance at 555 nm
@@ -161,10 +173,248 @@ public class Chlorophyll {
      * @return chlorophyll (ug/L)
      */
     public static double oc4v4(double rrs443, double rrs490, double rrs510, double rrs555) {
-        double[] a = {0.366, -3.067, 1.930, 0.649, -1.532};
-        double[] rs = {Math.log10(rrs443 / rrs555), Math.log10(rrs490 / rrs555), Math.log10(rrs510 / rrs555)};
-        Arrays.sort(rs);
-        double R = rs[rs.length - 1]; // max
-        return Math.pow(10.0, (a[0] + a[1] * R + a[2] * R * R + a[3] * R * R * R + a[4] * R * R * R * R));
+        double[] a = OC4V4;
+        double r443 = rrs443 / rrs555;
+        double r490 = rrs490 / rrs555;
+        double r510 = rrs510 / rrs555;
+        // Every ratio needs a log, so a negative (e.g. over-corrected) band makes the pixel NaN
+        if (!(r443 > 0 && r490 > 0 && r510 > 0)) {
+            return Double.NaN;
+        }
+        // log10 is monotonic so the log of the largest ratio is the largest log ratio
+        double R = Math.log10(Math.max(Math.max(r443, r490), r510));
+        return Math.pow(10.0, (a[0] + (a[1] + (a[2] + (a[3] + a[4] * R) * R) * R) * R));
+    }
+
+    /*
+     * Array versions for images and granules. Each one fills a caller
+     * supplied output array and gives the same values as calling the scalar
+     * algorithm on each pixel. Pass parallel = true to split large arrays
+     * across the common ForkJoinPool.
+     */
+
+    /**
+     * czcs for each pixel. See {@link #czcs(double, double)}
+     *
+     * @param lw443 Water leaving radiance at 443nm
+     * @param lw550 Water leaving radiance at 550nm
+     * @param out chlorophyll (ug/L)
+     */
+    public static void czcs(double[] lw443, double[] lw550, double[] out) {
+        czcs(lw443, lw550, out, false);
+    }
+
+    /**
+     * czcs for each pixel. See {@link #czcs(double, double)}
+     *
+     * @param lw443 Water leaving radiance at 443nm
+     * @param lw550 Water leaving radiance at 550nm
+     * @param out chlorophyll (ug/L)
+     * @param parallel true to split the pixels across the common ForkJoinPool
+     */
+    public static void czcs(double[] lw443, double[] lw550, double[] out, boolean parallel) {
+        twoBand(Chlorophyll::czcs, lw443, lw550, out, parallel);
+    }
+
+    /**
+     * oc1a for each pixel. See {@link #oc1a(double, double)}
+     *
+     * @param rrs490 Remote sensing reflectance at 490 nm
+     * @param rrs555 Remote sensing reflectance at 555 nm
+     * @param out chlorophyll (ug/L)
+     */
+    public static void oc1a(double[] rrs490, double[] rrs555, double[] out) {
+        oc1a(rrs490, rrs555, out, false);
+    }
+
+    /**
+     * oc1a for each pixel. See {@link #oc1a(double, double)}
+     *
+     * @param rrs490 Remote sensing reflectance at 490 nm
+     * @param rrs555 Remote sensing reflectance at 555 nm
+     * @param out chlorophyll (ug/L)
+     * @param parallel true to split the pixels across the common ForkJoinPool
+     */
+    public static void oc1a(double[] rrs490, double[] rrs555, double[] out, boolean parallel) {
+        twoBand(Chlorophyll::oc1a, rrs490, rrs555, out, parallel);
+    }
+
+    /**
+     * oc1b for each pixel. See {@link #oc1b(double, double)}
+     *
+     * @param rrs490 Remote sensing reflectance at 490 nm
+     * @param rrs555 Remote sensing reflectance at 555 nm
+     * @param out chlorophyll (ug/L)
+     */
+    public static void oc1b(double[] rrs490, double[] rrs555, double[] out) {
+        oc1b(rrs490, rrs555, out, false);
+    }
+
+    /**
+     * oc1b for each pixel. See {@link #oc1b(double, double)}
+     *
+     * @param rrs490 Remote sensing reflectance at 490 nm
+     * @param rrs555 Remote sensing reflectance at 555 nm
+     * @param out chlorophyll (ug/L)
+     * @param parallel true to split the pixels across the common ForkJoinPool
+     */
+    public static void oc1b(double[] rrs490, double[] rrs555, double[] out, boolean parallel) {
+        twoBand(Chlorophyll::oc1b, rrs490, rrs555, out, parallel);
+    }
+
+    /**
+     * oc1c for each pixel. See {@link #oc1c(double, double)}
+     *
+     * @param rrs490 Remote sensing reflectance at 490 nm
+     * @param rrs555 Remote sensing reflectance at 555 nm
+     * @param out chlorophyll (ug/L)
+     */
+    public static void oc1c(double[] rrs490, double[] rrs555, double[] out) {
+        oc1c(rrs490, rrs555, out, false);
+    }
+
+    /**
+     * oc1c for each pixel. See {@link #oc1c(double, double)}
+     *
+     * @param rrs490 Remote sensing reflectance at 490 nm
+     * @param rrs555 Remote sensing reflectance at 555 nm
+     * @param out chlorophyll (ug/L)
+     * @param parallel true to split the pixels across the common ForkJoinPool
+     */
+    public static void oc1c(double[] rrs490, double[] rrs555, double[] out, boolean parallel) {
+        twoBand(Chlorophyll::oc1c, rrs490, rrs555, out, parallel);
+    }
+
+    /**
+     * oc1d for each pixel. See {@link #oc1d(double, double)}
+     *
+     * @param rrs490 Remote sensing reflectance at 490 nm
+     * @param rrs555 Remote sensing reflectance at 555 nm
+     * @param out chlorophyll (ug/L)
+     */
+    public static void oc1d(double[] rrs490, double[] rrs555, double[] out) {
+        oc1d(rrs490, rrs555, out, false);
+    }
+
+    /**
+     * oc1d for each pixel. See {@link #oc1d(double, double)}
+     *
+     * @param rrs490 Remote sensing reflectance at 490 nm
+     * @param rrs555 Remote sensing reflectance at 555 nm
+     * @param out chlorophyll (ug/L)
+     * @param parallel true to split the pixels across the common ForkJoinPool
+     */
+    public static void oc1d(double[] rrs490, double[] rrs555, double[] out, boolean parallel) {
+        twoBand(Chlorophyll::oc1d, rrs490, rrs555, out, parallel);
+    }
+
+    /**
+     * oc2v1 for each pixel. See {@link #oc2v1(double, double)}
+     *
+     * @param rrs490 Remote sensing reflectance at 490 nm
+     * @param rrs555 Remote sensing reflectance at 555 nm
+     * @param out chlorophyll (ug/L)
+     */
+    public static void oc2v1(double[] rrs490, double[] rrs555, double[] out) {
+        oc2v1(rrs490, rrs555, out, false);
+    }
+
+    /**
+     * oc2v1 for each pixel. See {@link #oc2v1(double, double)}
+     *
+     * @param rrs490 Remote sensing reflectance at 490 nm
+     * @param rrs555 Remote sensing reflectance at 555 nm
+     * @param out chlorophyll (ug/L)
+     * @param parallel true to split the pixels across the common ForkJoinPool
+     */
+    public static void oc2v1(double[] rrs490, double[] rrs555, double[] out, boolean parallel) {
+        twoBand(Chlorophyll::oc2v1, rrs490, rrs555, out, parallel);
+    }
+
+    /**
+     * oc2v2 for each pixel. See {@link #oc2v2(double, double)}
+     *
+     * @param lu490 Upwelled radiance at 490 nm
+     * @param lu555 Upwelled radiance at 555 nm
+     * @param out chlorophyll (ug/L)
+     */
+    public static void oc2v2(double[] lu490, double[] lu555, double[] out) {
+        oc2v2(lu490, lu555, out, false);
+    }
+
+    /**
+     * oc2v2 for each pixel. See {@link #oc2v2(double, double)}
+     *
+     * @param lu490 Upwelled radiance at 490 nm
+     * @param lu555 Upwelled radiance at 555 nm
+     * @param out chlorophyll (ug/L)
+     * @param parallel true to split the pixels across the common ForkJoinPool
+     */
+    public static void oc2v2(double[] lu490, double[] lu555, double[] out, boolean parallel) {
+        twoBand(Chlorophyll::oc2v2, lu490, lu555, out, parallel);
+    }
+
+    /**
+     * oc2v4 for each pixel. See {@link #oc2v4(double, double)}
+     *
+     * @param rrs490 Remote sensing reflectance at 490 nm
+     * @param rrs555 Remote sensing reflectance at 555 nm
+     * @param out chlorophyll (ug/L)
+     */
+    public static void oc2v4(double[] rrs490, double[] rrs555, double[] out) {
+        oc2v4(rrs490, rrs555, out, false);
+    }
+
+    /**
+     * oc2v4 for each pixel. See {@link #oc2v4(double, double)}
+     *
+     * @param rrs490 Remote sensing reflectance at 490 nm
+     * @param rrs555 Remote sensing reflectance at 555 nm
+     * @param out chlorophyll (ug/L)
+     * @param parallel true to split the pixels across the common ForkJoinPool
+     */
+    public static void oc2v4(double[] rrs490, double[] rrs555, double[] out, boolean parallel) {
+        twoBand(Chlorophyll::oc2v4, rrs490, rrs555, out, parallel);
+    }
+
+    /**
+     * oc4v4 for each pixel. See {@link #oc4v4(double, double, double, double)}
+     *
+     * @param rrs443 Remote sensing reflectance at 443 nm
+     * @param rrs490 Remote sensing reflectance at 490 nm
+     * @param rrs510 Remote sensing reflectance at 510 nm
+     * @param rrs555 Remote sensing reflectance at 555 nm
+     * @param out chlorophyll (ug/L)
+     */
+    public static void oc4v4(double[] rrs443, double[] rrs490, double[] rrs510, double[] rrs555, double[] out) {
+        oc4v4(rrs443, rrs490, rrs510, rrs555, out, false);
+    }
+
+    /**
+     * oc4v4 for each pixel. See {@link #oc4v4(double, double, double, double)}
+     *
+     * @param rrs443 Remote sensing reflectance at 443 nm
+     * @param rrs490 Remote sensing reflectance at 490 nm
+     * @param rrs510 Remote sensing reflectance at 510 nm
+     * @param rrs555 Remote sensing reflectance at 555 nm
+     * @param out chlorophyll (ug/L)
+     * @param parallel true to split the pixels across the common ForkJoinPool
+     */
+    public static void oc4v4(double[] rrs443, double[] rrs490, double[] rrs510, double[] rrs555, double[] out,
+            boolean parallel) {
+        StreamUtilities.forEachChunk(Columns.rows(rrs443, rrs490, rrs510, rrs555, out), parallel, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                out[i] = oc4v4(rrs443[i], rrs490[i], rrs510[i], rrs555[i]);
+            }
+        });
+    }
+
+    private static void twoBand(DoubleBinaryOperator algorithm, double[] blue, double[] green, double[] out,
+            boolean parallel) {
+        StreamUtilities.forEachChunk(Columns.rows(blue, green, out), parallel, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                out[i] = algorithm.applyAsDouble(blue[i], green[i]);
+            }
+        });
     }
 }
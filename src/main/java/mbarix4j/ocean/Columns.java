@@ -0,0 +1,29 @@
+package mbarix4j.ocean;
+
+/**
+ * Checks for the column (batch) overloads, where each row of the columns
+ * (e.g. a scan of a CTD cast) is calculated independently.
+ *
+ * @author Brian Schlining
+ * @since 2026-10-17
+ */
+final class Columns {
+
+    private Columns() {
+        // No instantiation
+    }
+
+    /**
+     * @return The number of rows, the length of the first column
+     * @throws IllegalArgumentException if any column is shorter than the first one
+     */
+    static int rows(double[]... columns) {
+        int n = columns[0].length;
+        for (double[] column : columns) {
+            if (column.length < n) {
+                throw new IllegalArgumentException("Every column must be at least as long as the first input");
+            }
+        }
+        return n;
+    }
+}
@@ -0,0 +1,228 @@
+package mbarix4j.ocean;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import mbarix4j.util.stream.StreamUtilities;
+
+/**
+ * Derives the usual products of a CTD cast (salinity, density, sigma-t,
+ * potential temperature, spiciness, sound velocity and depth) in a single
+ * pass over the scans. Each scan's salinity, square root of salinity,
+ * surface density and potential temperature are computed once and shared
+ * by every product that needs them, instead of each {@link Seawater}
+ * call computing them again. Only the selected products are computed, so
+ * unused products cost nothing. Every value is identical to the
+ * corresponding {@link Seawater} call.
+ *
+ * <pre>
+ *     CtdPipeline pipeline = new CtdPipeline(EnumSet.of(Product.DENSITY, Product.DEPTH));
+ *     Map&lt;Product, double[]&gt; derived = pipeline.derive(conductivityRatio, temperature, pressure, latitude);
+ *     double[] density = derived.get(Product.DENSITY);
+ * </pre>
+ *
+ * @author Brian Schlining
+ * @since 2026-10-17
+ */
+public class CtdPipeline {
+
+    /**
+     * The products the pipeline can derive
+     */
+    public enum Product {
+
+        /** Practical salinity (psu). See {@link Seawater#salinity(double, double, double)} */
+        SALINITY,
+
+        /** In-situ density (kg/liter). See {@link Seawater#density(double, double, double)} */
+        DENSITY,
+
+        /** Sigma-t (g/liter). See {@link Seawater#sigmat(double, double)} */
+        SIGMAT,
+
+        /** Potential temperature at 0 dbar (C). See {@link Seawater#theta(double, double, double)} */
+        THETA,
+
+        /** Spiciness. See {@link Seawater#spiciness(double, double, double)} */
+        SPICINESS,
+
+        /** Speed of sound (m/s). See {@link Seawater#svel(double, double, double)} */
+        SVEL,
+
+        /** Depth (m). See {@link Seawater#depth(double, double)} */
+        DEPTH
+    }
+
+    private final Set<Product> products;
+    private final boolean salinity;
+    private final boolean density;
+    private final boolean sigmat;
+    private final boolean theta;
+    private final boolean spiciness;
+    private final boolean svel;
+    private final boolean depth;
+
+    /**
+     * @param products The products to derive
+     */
+    public CtdPipeline(Set<Product> products) {
+        this.products = Collections.unmodifiableSet(products.isEmpty() ? EnumSet.noneOf(Product.class) :
+                EnumSet.copyOf(products));
+        salinity = products.contains(Product.SALINITY);
+        density = products.contains(Product.DENSITY);
+        sigmat = products.contains(Product.SIGMAT);
+        theta = products.contains(Product.THETA);
+        spiciness = products.contains(Product.SPICINESS);
+        svel = products.contains(Product.SVEL);
+        depth = products.contains(Product.DEPTH);
+    }
+
+    /**
+     * @return A pipeline that derives every product
+     */
+    public static CtdPipeline all() {
+        return new CtdPipeline(EnumSet.allOf(Product.class));
+    }
+
+    /**
+     * @return The products this pipeline derives
+     */
+    public Set<Product> getProducts() {
+        return products;
+    }
+
+    /**
+     * Derive the selected products from a cast at a single latitude
+     *
+     * @param conductivity Conductivity ratio (conductivity / 42.914 mS/cm)
+     * @param temperature  C
+     * @param pressure     dbar
+     * @param latitude     decimal degrees. Only used for depth
+     * @return A new array for each selected product
+     */
+    public Map<Product, double[]> derive(double[] conductivity, double[] temperature, double[] pressure,
+            double latitude) {
+        double[] lat = new double[] { latitude };
+        Map<Product, double[]> out = allocate(conductivity.length);
+        run(conductivity, temperature, pressure, lat, false, out, false);
+        return out;
+    }
+
+    /**
+     * Derive the selected products from a cast
+     *
+     * @param conductivity Conductivity ratio (conductivity / 42.914 mS/cm)
+     * @param temperature  C
+     * @param pressure     dbar
+     * @param latitude     decimal degrees of each scan. Only used for depth
+     * @return A new array for each selected product
+     */
+    public Map<Product, double[]> derive(double[] conductivity, double[] temperature, double[] pressure,
+            double[] latitude) {
+        Map<Product, double[]> out = allocate(conductivity.length);
+        derive(conductivity, temperature, pressure, latitude, out, false);
+        return out;
+    }
+
+    /**
+     * Derive the selected products from a cast into caller supplied arrays,
+     * so repeated casts allocate nothing.
+     *
+     * @param conductivity Conductivity ratio (conductivity / 42.914 mS/cm)
+     * @param temperature  C
+     * @param pressure     dbar
+     * @param latitude     decimal degrees of each scan. Only used for depth
+     * @param out          An array for each selected product, at least as long as
+     *                     the cast. See {@link #allocate(int)}
+     * @param parallel     true to split the scans across the common ForkJoinPool
+     */
+    public void derive(double[] conductivity, double[] temperature, double[] pressure, double[] latitude,
+            Map<Product, double[]> out, boolean parallel) {
+        run(conductivity, temperature, pressure, latitude, true, out, parallel);
+    }
+
+    /**
+     * @param n The number of scans
+     * @return An array of length n for each selected product
+     */
+    public Map<Product, double[]> allocate(int n) {
+        Map<Product, double[]> out = new EnumMap<>(Product.class);
+        for (Product product : products) {
+            out.put(product, new double[n]);
+        }
+        return out;
+    }
+
+    private void run(double[] conductivity, double[] temperature, double[] pressure, double[] latitude,
+            boolean latitudeColumn, Map<Product, double[]> out, boolean parallel) {
+        int n = latitudeColumn ? Columns.rows(conductivity, temperature, pressure, latitude)
+                : Columns.rows(conductivity, temperature, pressure);
+        double[] sOut = column(out, Product.SALINITY, n);
+        double[] densityOut = column(out, Product.DENSITY, n);
+        double[] sigmatOut = column(out, Product.SIGMAT, n);
+        double[] thetaOut = column(out, Product.THETA, n);
+        double[] spicinessOut = column(out, Product.SPICINESS, n);
+        double[] svelOut = column(out, Product.SVEL, n);
+        double[] depthOut = column(out, Product.DEPTH, n);
+        boolean needS = salinity || density || sigmat || theta || spiciness || svel;
+        boolean needTheta = theta || spiciness;
+
+        StreamUtilities.forEachChunk(n, parallel, (from, to) -> {
+            double lastLatitude = Double.NaN;
+            double gravity = Double.NaN;
+            for (int i = from; i < to; i++) {
+                double t = temperature[i];
+                double p = pressure[i];
+                if (needS) {
+                    double s = Seawater.salinity(conductivity[i], t, p);
+                    if (salinity) {
+                        sOut[i] = s;
+                    }
+                    if (density || sigmat) {
+                        double sqrtS = Math.sqrt(s);
+                        double rho0 = Seawater.surfaceDensity(s, sqrtS, t);
+                        if (density) {
+                            densityOut[i] = rho0 / (1 - p / (10 * Seawater.bulkmod(s, sqrtS, t, p))) / 1000;
+                        }
+                        if (sigmat) {
+                            sigmatOut[i] = 1000D * (rho0 / 1000 - 1);
+                        }
+                    }
+                    if (needTheta) {
+                        double th = Seawater.theta(s, t, p);
+                        if (theta) {
+                            thetaOut[i] = th;
+                        }
+                        if (spiciness) {
+                            spicinessOut[i] = Seawater.spiciness(s, th, p);
+                        }
+                    }
+                    if (svel) {
+                        svelOut[i] = Seawater.svel(s, t, p);
+                    }
+                }
+                if (depth) {
+                    double lat = latitudeColumn ? latitude[i] : latitude[0];
+                    if (Double.compare(lat, lastLatitude) != 0) {
+                        lastLatitude = lat;
+                        gravity = Seawater.surfaceGravity(lat);
+                    }
+                    depthOut[i] = Seawater.depthAtGravity(p, gravity);
+                }
+            }
+        });
+    }
+
+    private double[] column(Map<Product, double[]> out, Product product, int n) {
+        if (!products.contains(product)) {
+            return null;
+        }
+        double[] column = out.get(product);
+        if (column == null || column.length < n) {
+            throw new IllegalArgumentException("The output for " + product + " is missing or shorter than the input");
+        }
+        return column;
+    }
+}
@@ -0,0 +1,285 @@
+package mbarix4j.ocean;
+
+import java.util.Arrays;
+
+/**
+ * A vertical profile from a CTD cast or profiling float that computes the
+ * usual stability and dynamic products as scans are appended:
+ * <ul>
+ *     <li>Depth and potential density anomaly (sigma-theta) of each scan</li>
+ *     <li>Brunt-Vaisala (buoyancy) frequency squared between each pair of scans,
+ *     computed like sw_bfrq in the CSIRO seawater toolbox</li>
+ *     <li>Geopotential anomaly and dynamic height, integrated from the first scan</li>
+ *     <li>Mixed layer depth using a density threshold (de Boyer Montegut et al.
+ *     2004: 0.03 kg/m^3 above the value at 10 dbar by default)</li>
+ * </ul>
+ * Every product only depends on the scans around it, so appending a scan
+ * costs the same no matter how long the profile already is.
+ *
+ * <pre>
+ *     Profile profile = new Profile(36.8);
+ *     profile.append(pressure, temperature, salinity);   // The scans so far
+ *     profile.append(1001.2, 4.1, 34.46);                // One more
+ *     double[] n2 = profile.getBuoyancyFrequency();
+ *     double mld = profile.getMixedLayerDepth();
+ * </pre>
+ *
+ * @author Brian Schlining
+ * @since 2026-10-17
+ */
+public class Profile {
+
+    /** Default reference pressure for the mixed layer depth (dbar) */
+    public static final double DEFAULT_MLD_REFERENCE_PRESSURE = 10D;
+
+    /** Default potential density threshold for the mixed layer depth (kg/m^3) */
+    public static final double DEFAULT_MLD_THRESHOLD = 0.03;
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final double latitude;
+    private final double gravity;
+    private final double mldReferencePressure;
+    private final double mldThreshold;
+
+    private int size;
+    private double[] pressure = new double[INITIAL_CAPACITY];
+    private double[] temperature = new double[INITIAL_CAPACITY];
+    private double[] salinity = new double[INITIAL_CAPACITY];
+    private double[] depth = new double[INITIAL_CAPACITY];
+    private double[] sigmaTheta = new double[INITIAL_CAPACITY];
+    private double[] delta = new double[INITIAL_CAPACITY];
+    private double[] geopotentialAnomaly = new double[INITIAL_CAPACITY];
+    private double[] n2 = new double[INITIAL_CAPACITY];
+
+    private double mldReferenceSigma = Double.NaN;
+    private double mixedLayerDepth = Double.NaN;
+
+    /**
+     * @param latitude decimal degrees
+     */
+    public Profile(double latitude) {
+        this(latitude, DEFAULT_MLD_REFERENCE_PRESSURE, DEFAULT_MLD_THRESHOLD);
+    }
+
+    /**
+     * @param latitude decimal degrees
+     * @param mldReferencePressure The pressure (dbar) of the reference density for the mixed layer depth
+     * @param mldThreshold The increase in potential density (kg/m^3) from the reference
+     *                     that marks the bottom of the mixed layer
+     */
+    public Profile(double latitude, double mldReferencePressure, double mldThreshold) {
+        this.latitude = latitude;
+        this.gravity = Seawater.surfaceGravity(latitude);
+        this.mldReferencePressure = mldReferencePressure;
+        this.mldThreshold = mldThreshold;
+    }
+
+    /**
+     * Append a scan. Scans must be appended in order of increasing pressure.
+     *
+     * @param p pressure (dbar)
+     * @param t temperature (Celsius)
+     * @param s salinity (psu)
+     * @throws IllegalArgumentException if p is not deeper than the last scan
+     */
+    public void append(double p, double t, double s) {
+        int i = size;
+        if (i > 0 && !(p > pressure[i - 1])) {
+            throw new IllegalArgumentException("Pressure must increase. Found " + p + " after " + pressure[i - 1]);
+        }
+        if (i == pressure.length) {
+            grow();
+        }
+        pressure[i] = p;
+        temperature[i] = t;
+        salinity[i] = s;
+        depth[i] = Seawater.depthAtGravity(p, gravity);
+        sigmaTheta[i] = Seawater.sigmat(s, Seawater.theta(s, t, p));
+        delta[i] = Seawater.delta(s, t, p) * 1E-8;     // m^3/kg
+
+        if (i == 0) {
+            geopotentialAnomaly[0] = 0;
+        }
+        else {
+            // Trapezoidal integral of the specific volume anomaly over pressure in Pa
+            double dp = (p - pressure[i - 1]) * 1E4;
+            geopotentialAnomaly[i] = geopotentialAnomaly[i - 1] + 0.5 * (delta[i - 1] + delta[i]) * dp;
+            n2[i - 1] = buoyancyFrequency(i - 1, i);
+        }
+        size++;
+        updateMixedLayer(i);
+    }
+
+    /**
+     * Append many scans. See {@link #append(double, double, double)}
+     *
+     * @param p pressure (dbar)
+     * @param t temperature (Celsius)
+     * @param s salinity (psu)
+     */
+    public void append(double[] p, double[] t, double[] s) {
+        int n = Columns.rows(p, t, s);
+        for (int i = 0; i < n; i++) {
+            append(p[i], t[i], s[i]);
+        }
+    }
+
+    /**
+     * @return The number of scans
+     */
+    public int size() {
+        return size;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    /**
+     * @return pressure of each scan (dbar)
+     */
+    public double[] getPressure() {
+        return Arrays.copyOf(pressure, size);
+    }
+
+    /**
+     * @return temperature of each scan (Celsius)
+     */
+    public double[] getTemperature() {
+        return Arrays.copyOf(temperature, size);
+    }
+
+    /**
+     * @return salinity of each scan (psu)
+     */
+    public double[] getSalinity() {
+        return Arrays.copyOf(salinity, size);
+    }
+
+    /**
+     * @return depth of each scan (m)
+     */
+    public double[] getDepth() {
+        return Arrays.copyOf(depth, size);
+    }
+
+    /**
+     * @return potential density anomaly referenced to 0 dbar of each scan (kg/m^3)
+     */
+    public double[] getSigmaTheta() {
+        return Arrays.copyOf(sigmaTheta, size);
+    }
+
+    /**
+     * @return Geopotential anomaly of each scan relative to the first scan (J/kg or m^2/s^2)
+     */
+    public double[] getGeopotentialAnomaly() {
+        return Arrays.copyOf(geopotentialAnomaly, size);
+    }
+
+    /**
+     * @return Dynamic height of each scan relative to the first scan (dynamic meters)
+     */
+    public double[] getDynamicHeight() {
+        double[] height = new double[size];
+        for (int i = 0; i < size; i++) {
+            height[i] = geopotentialAnomaly[i] / 10D;
+        }
+        return height;
+    }
+
+    /**
+     * @return The pressure midway between each pair of scans (dbar). This is
+     *      where the buoyancy frequency applies
+     */
+    public double[] getMidPressure() {
+        double[] mid = new double[Math.max(size - 1, 0)];
+        for (int i = 0; i < mid.length; i++) {
+            mid[i] = (pressure[i] + pressure[i + 1]) / 2D;
+        }
+        return mid;
+    }
+
+    /**
+     * @return Brunt-Vaisala frequency squared, N^2 (s^-2), between each pair of
+     *      scans. Positive where the water column is stable
+     */
+    public double[] getBuoyancyFrequency() {
+        return Arrays.copyOf(n2, Math.max(size - 1, 0));
+    }
+
+    /**
+     * @return The mixed layer depth (m). NaN if the bottom of the mixed layer
+     *      has not been reached yet
+     */
+    public double getMixedLayerDepth() {
+        return mixedLayerDepth;
+    }
+
+    /**
+     * N^2 between scans i and j. Both scans are brought adiabatically to their
+     * mid pressure and the difference in potential density is used.
+     */
+    private double buoyancyFrequency(int i, int j) {
+        double pMid = (pressure[i] + pressure[j]) / 2D;
+        double upper = potentialDensity(i, pMid);
+        double lower = potentialDensity(j, pMid);
+        double dz = depth[j] - depth[i];
+        return gravity * (lower - upper) / (dz * (upper + lower) / 2D);
+    }
+
+    private double potentialDensity(int i, double referencePressure) {
+        double s = salinity[i];
+        double theta = Seawater.theta(s, temperature[i], pressure[i], referencePressure);
+        return Seawater.density(s, theta, referencePressure);
+    }
+
+    private void updateMixedLayer(int i) {
+        double p = pressure[i];
+        if (Double.isNaN(mldReferenceSigma)) {
+            if (p < mldReferencePressure) {
+                return;
+            }
+            if (i == 0 || p == mldReferencePressure) {
+                mldReferenceSigma = sigmaTheta[i];
+            }
+            else {
+                mldReferenceSigma = interpolate(pressure[i - 1], sigmaTheta[i - 1], p, sigmaTheta[i],
+                        mldReferencePressure);
+            }
+        }
+        if (!Double.isNaN(mixedLayerDepth) || i == 0) {
+            return;
+        }
+        double target = mldReferenceSigma + mldThreshold;
+        if (sigmaTheta[i] >= target) {
+            double sigma0 = sigmaTheta[i - 1];
+            double depth0 = depth[i - 1];
+            if (pressure[i - 1] < mldReferencePressure) {
+                sigma0 = mldReferenceSigma;
+                depth0 = Seawater.depthAtGravity(mldReferencePressure, gravity);
+            }
+            mixedLayerDepth = interpolate(sigma0, depth0, sigmaTheta[i], depth[i], target);
+        }
+    }
+
+    private static double interpolate(double x0, double y0, double x1, double y1, double x) {
+        if (x1 == x0) {
+            return y1;
+        }
+        return y0 + (y1 - y0) * (x - x0) / (x1 - x0);
+    }
+
+    private void grow() {
+        int n = pressure.length * 2;
+        pressure = Arrays.copyOf(pressure, n);
+        temperature = Arrays.copyOf(temperature, n);
+        salinity = Arrays.copyOf(salinity, n);
+        depth = Arrays.copyOf(depth, n);
+        sigmaTheta = Arrays.copyOf(sigmaTheta, n);
+        delta = Arrays.copyOf(delta, n);
+        geopotentialAnomaly = Arrays.copyOf(geopotentialAnomaly, n);
+        n2 = Arrays.copyOf(n2, n);
+    }
+}
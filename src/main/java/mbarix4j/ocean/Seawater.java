@@ -15,6 +15,8 @@
 
 package mbarix4j.ocean;
 
+import mbarix4j.util.stream.StreamUtilities;
+
 /**
  * @author Brian Schlining
  * @since 2011-12-17
@@ -173,6 +175,26 @@ public class Seawater {
      */
     private static double VALENCE_FACTOR = 1.2452898;
 
+    /* PSS-78 coefficients for salinity(conductivity, temperature, pressure). UNESCO 44 */
+    private static final double[] SALINITY_A = { 0.0080, -0.1692, 25.3851, 14.0941, -7.0261, 2.7081 };
+    private static final double[] SALINITY_B = { 0.0005, -0.0056, -0.0066, -0.0375, 0.0636, -0.0144 };
+    private static final double[] SALINITY_C = { 0.6766097, 2.00564E-2, 1.104259E-4, -6.9698E-7, 1.0031E-9 };
+    private static final double[] SALINITY_D = { 3.426E-2, 4.464E-4, 4.215E-1, -3.107E-3 };
+    private static final double[] SALINITY_E = { 2.070E-5, -6.370E-10, 3.989E-15 };
+    private static final double SALINITY_K = 0.0162;
+
+    /* Depth from pressure, and its inverse. UNESCO 44 */
+    private static final double DEPTH_C1 = 9.72659;
+    private static final double DEPTH_C2 = -2.2512E-5;
+    private static final double DEPTH_C3 = 2.279E-10;
+    private static final double DEPTH_C4 = -1.82E-15;
+    private static final double DEPTH_GAMMA = 2.184E-6;
+
+    /* Newton iteration controls for the inverse functions */
+    private static final int MAX_ITERATIONS = 20;
+    private static final double TOLERANCE = 1E-10;
+    private static final double DERIVATIVE_STEP = 1E-6;
+
 
     private Seawater() {
 
@@ -190,6 +212,14 @@ public class Seawater {
      * @return Adiabatic temperature gradient (C/dbar)
      */
     public static double atg(double salinity, double temperature, double pressure) {
+        return atg35(salinity - 35D, temperature, pressure);
+    }
+
+    /**
+     * atg with salinity - 35 already computed, so theta can compute it once
+     * instead of 8 times.
+     */
+    private static double atg35(double s35, double temperature, double pressure) {
         double A0 = 3.5803E-5;
         double A1 = 8.5258E-6;
         double A2 = -6.8360E-8;
@@ -207,10 +237,10 @@ public class Seawater {
         double E2 = -2.1687E-16;
 
         return A0 + (A1 + (A2 + A3 * temperature) * temperature) * temperature +
-               (B0 + B1 * temperature) * (salinity - (35D)) +
+               (B0 + B1 * temperature) * s35 +
                (C0 + (C1 + (C2 + C3 * temperature) * temperature) * temperature +
                 (D0 + D1 * temperature) *
-                (salinity - (35D))) * pressure + ((E0 + (E1 + E2 * temperature) * temperature)) * pressure * pressure;
+                s35) * pressure + ((E0 + (E1 + E2 * temperature) * temperature)) * pressure * pressure;
     }
 
     /**
@@ -222,6 +252,14 @@ public class Seawater {
      * @return Seawater bulk modulus in BARS!! (not dbar)
      */
     public static double bulkmod(double salinity, double temperature, double pressure) {
+        return bulkmod(salinity, Math.sqrt(salinity), temperature, pressure);
+    }
+
+    /**
+     * bulkmod with the square root of salinity already computed, so density
+     * can share it.
+     */
+    static double bulkmod(double salinity, double sqrtSalinity, double temperature, double pressure) {
 
         // use constant names exactly as in UNESCO 1983
 
@@ -264,10 +302,10 @@ public class Seawater {
 
         double AW = H0 + (H1 + (H2 + H3 * temperature) * temperature) * temperature;
         double BW = K0 + (K1 + K2 * temperature) * temperature;
-        double A = AW + (I0 + (I1 + I2 * temperature) * temperature) * salinity + J0 * salinity * Math.sqrt(salinity);    // eq 17
+        double A = AW + (I0 + (I1 + I2 * temperature) * temperature) * salinity + J0 * salinity * sqrtSalinity;    // eq 17
         double B = BW + (M0 + (M1 + M2 * temperature) * temperature) * salinity;    // eq 18
         double F = (F0 + (F1 + (F2 + F3 * temperature) * temperature) * temperature) * salinity;
-        double G = (G0 + (G1 + G2 * temperature) * temperature) * salinity * Math.sqrt(salinity);
+        double G = (G0 + (G1 + G2 * temperature) * temperature) * salinity * sqrtSalinity;
 
         double KST0 = KW + F + G;                                                   // eq 16
 
@@ -313,6 +351,28 @@ public class Seawater {
      * @return density (kg/liter)
      */
     public static double density(double S, double T, double P) {
+        double sqrtS = Math.sqrt(S);
+        double RHO = surfaceDensity(S, sqrtS, T);    // rho(S,T,0), eq 13
+
+        // secant bulk modulus
+        double KSTP = bulkmod(S, sqrtS, T, P);    // separate subroutine
+        RHO = RHO / (1 - P / (10 * KSTP));    // eq 07
+
+        // NOTE: 10 since K in bars; P in dbars
+
+        return RHO / 1000;    // scale to kg/liter
+
+    }
+
+    /**
+     * Seawater density at the surface, rho(S,T,0), eq 13 of UNESCO 44.
+     *
+     * @param S     Salinity (psu)
+     * @param sqrtS The square root of S
+     * @param T     Temperature (C)
+     * @return density (kg/m^3)
+     */
+    static double surfaceDensity(double S, double sqrtS, double T) {
         double A0 = 999.842594;
         double A1 = 6.793952E-2;
         double A2 = -9.095290E-3;
@@ -332,18 +392,9 @@ public class Seawater {
 
         double RHOW = A0 + (A1 + (A2 + (A3 + (A4 + A5 * T) * T) * T) * T) * T;    // eq 4
         double B = (B0 + (B1 + (B2 + (B3 + B4 * T) * T) * T) * T) * S;
-        double C = (C0 + (C1 + C2 * T) * T) * S * Math.sqrt(S);
+        double C = (C0 + (C1 + C2 * T) * T) * S * sqrtS;
         double D = D0 * S * S;
-        double RHO = RHOW + B + C + D;                                            // rho(S,T,0), eq 13
-
-        // secant bulk modulus
-        double KSTP = bulkmod(S, T, P);    // separate subroutine
-        RHO = RHO / (1 - P / (10 * KSTP));    // eq 07
-
-        // NOTE: 10 since K in bars; P in dbars
-
-        return RHO / 1000;    // scale to kg/liter
-
+        return RHOW + B + C + D;                                                  // rho(S,T,0), eq 13
     }
 
     /**
@@ -374,20 +425,31 @@ public class Seawater {
      * @return
      */
     public static double depth(double pressure, double latitude) {
-        double C1 = 9.72659;
-        double C2 = -2.2512E-5;
-        double C3 = 2.279E-10;
-        double C4 = -1.82E-15;
+        return depthAtGravity(pressure, surfaceGravity(latitude));
+    }
 
+    /**
+     * Gravity at the sea surface for a latitude, the part of depth that
+     * depends only on latitude.
+     *
+     * @param latitude decimal degrees
+     * @return gravity (m/s^2)
+     */
+    static double surfaceGravity(double latitude) {
         double G0 = 9.780318;
         double G1 = 5.2788E-3;
         double G2 = 2.36E-5;
 
-        double GAMMA = 2.184E-6;
-
         double X = Math.pow(Math.sin(Math.PI * latitude / 180D), 2D);
-        double GRAVITY = G0 * (1.0D + (G1 + G2 * X) * X) + (GAMMA / 2D) * pressure;
-        double Z = (C1 + (C2 + (C3 + C4 * pressure) * pressure) * pressure) * pressure;
+        return G0 * (1.0D + (G1 + G2 * X) * X);
+    }
+
+    /**
+     * depth with the surface gravity already computed
+     */
+    static double depthAtGravity(double pressure, double surfaceGravity) {
+        double GRAVITY = surfaceGravity + (DEPTH_GAMMA / 2D) * pressure;
+        double Z = (DEPTH_C1 + (DEPTH_C2 + (DEPTH_C3 + DEPTH_C4 * pressure) * pressure) * pressure) * pressure;
 
         return Z / GRAVITY;
 
@@ -424,16 +486,12 @@ public class Seawater {
      * @return Practical salinity (psu or ~g/kg)
      */
     public static double salinity(double conductivity, double temperature, double pressure) {
-        double[] a = {
-            0.0080, -0.1692, 25.3851, 14.0941, -7.0261, 2.7081
-        };
-        double[] b = {
-            0.0005, -0.0056, -0.0066, -0.0375, 0.0636, -0.0144
-        };
-        double[] c = { 0.6766097, 2.00564E-2, 1.104259E-4, -6.9698E-7, 1.0031E-9 };
-        double[] d = { 3.426E-2, 4.464E-4, 4.215E-1, -3.107E-3 };
-        double[] e = { 2.070E-5, -6.370E-10, 3.989E-15 };
-        double k = 0.0162;
+        double[] a = SALINITY_A;
+        double[] b = SALINITY_B;
+        double[] c = SALINITY_C;
+        double[] d = SALINITY_D;
+        double[] e = SALINITY_E;
+        double k = SALINITY_K;
 
         double rt = c[0] + (c[1] + (c[2] + (c[3] + c[4] * temperature) * temperature) * temperature) * temperature;    // eq 3
         double dd = 1 + (d[0] + d[1] * temperature) * temperature + (d[2] + d[3] * temperature) * conductivity;
@@ -594,21 +652,22 @@ public class Seawater {
      * @return Potential Temperature at the reference pressure (Celsius)
      */
     public static double theta(double salinity, double temperature, double p0, double pr) {
+        double s35 = salinity - 35D;
         double p = p0;
         double t2 = temperature;    // the input temperature in changed iteratively
         double h = pr - p;
-        double xk = h * atg(salinity, t2, p);
+        double xk = h * atg35(s35, t2, p);
         t2 = t2 + 0.5 * xk;
         double q = xk;
         p = p + 0.5 * h;
-        xk = h * atg(salinity, t2, p);
+        xk = h * atg35(s35, t2, p);
         t2 = t2 + 0.29289322 * (xk - q);
         q = 0.58578644 * xk + 0.121320344 * q;
-        xk = h * atg(salinity, t2, p);
+        xk = h * atg35(s35, t2, p);
         t2 = t2 + 1.70710678 * (xk - q);
         q = 3.414213562 * xk - 4.121320344 * q;
         p = p + 0.5 * h;
-        xk = h * atg(salinity, t2, p);
+        xk = h * atg35(s35, t2, p);
 
         return t2 + (xk - 2D * q) / 6D;
     }
@@ -623,4 +682,454 @@ public class Seawater {
     public static double theta(double salinity, double temperature, double p0) {
         return theta(salinity, temperature, p0, 0D);
     }
+
+    /*
+     * Inverse functions. Each is solved by a few Newton iterations from a
+     * closed form first guess and agrees with the forward function to
+     * within rounding.
+     */
+
+    /**
+     * Pressure at a depth and latitude, the inverse of {@link #depth(double, double)}.
+     * The first guess is Saunders (1981), "Practical conversion of pressure
+     * to depth", J. Phys. Oceanogr. 11, 573-574.
+     *
+     * @param depth    meters
+     * @param latitude decimal degrees
+     * @return pressure (dbar)
+     */
+    public static double pressure(double depth, double latitude) {
+        return pressureAtGravity(depth, saunders(latitude), surfaceGravity(latitude));
+    }
+
+    /**
+     * The latitude term of Saunders' first guess
+     */
+    private static double saunders(double latitude) {
+        double x = Math.pow(Math.sin(Math.PI * Math.abs(latitude) / 180D), 2D);
+        return 5.92E-3 + 5.25E-3 * x;
+    }
+
+    private static double pressureAtGravity(double depth, double c1, double surfaceGravity) {
+        double p = ((1 - c1) - Math.sqrt((1 - c1) * (1 - c1) - 8.84E-6 * depth)) / 4.42E-6;
+        if (Double.isNaN(p)) {
+            p = depth;      // Deeper than Saunders' formula supports
+        }
+        for (int i = 0; i < MAX_ITERATIONS; i++) {
+            double gravity = surfaceGravity + (DEPTH_GAMMA / 2D) * p;
+            double z = (DEPTH_C1 + (DEPTH_C2 + (DEPTH_C3 + DEPTH_C4 * p) * p) * p) * p;
+            double dz = DEPTH_C1 + (2 * DEPTH_C2 + (3 * DEPTH_C3 + 4 * DEPTH_C4 * p) * p) * p;
+            double f = z / gravity - depth;
+            double df = (dz * gravity - z * DEPTH_GAMMA / 2D) / (gravity * gravity);
+            double step = f / df;
+            p = p - step;
+            if (Math.abs(step) <= TOLERANCE * (1 + Math.abs(p))) {
+                break;
+            }
+        }
+        return p;
+    }
+
+    /**
+     * In-situ temperature from potential temperature, the inverse of
+     * {@link #theta(double, double, double, double)}. The first guess is
+     * theta taken from the reference pressure back to the in-situ pressure.
+     *
+     * @param salinity psu
+     * @param theta    Potential temperature at the reference pressure (Celsius)
+     * @param p0       In-situ pressure (decibar)
+     * @param pr       Reference pressure (decibar)
+     * @return In-situ temperature (Celsius)
+     */
+    public static double temperature(double salinity, double theta, double p0, double pr) {
+        double t = theta(salinity, theta, pr, p0);
+        double df = Double.NaN;
+        for (int i = 0; i < MAX_ITERATIONS; i++) {
+            double f = theta(salinity, t, p0, pr) - theta;
+            if (i == 0) {
+                // d(theta)/dT barely changes near the answer so it is only computed once
+                df = (theta(salinity, t + DERIVATIVE_STEP, p0, pr) - (f + theta)) / DERIVATIVE_STEP;
+            }
+            double step = f / df;
+            t = t - step;
+            if (Math.abs(step) <= TOLERANCE * (1 + Math.abs(t))) {
+                break;
+            }
+        }
+        return t;
+    }
+
+    /**
+     * In-situ temperature from potential temperature referenced to 0 dbar
+     *
+     * @param salinity psu
+     * @param theta    Potential temperature at 0 dbar (Celsius)
+     * @param p0       In-situ pressure (decibar)
+     * @return In-situ temperature (Celsius)
+     */
+    public static double temperature(double salinity, double theta, double p0) {
+        return temperature(salinity, theta, p0, 0D);
+    }
+
+    /**
+     * Conductivity ratio from practical salinity, the inverse of
+     * {@link #salinity(double, double, double)}. The first guess is
+     * salinity / 35 scaled by the temperature ratio, rt, of PSS-78.
+     *
+     * @param salinity    Practical salinity (psu). Must be greater than 0
+     * @param temperature C
+     * @param pressure    (dbar)
+     * @return Conductivity ratio. Multiply by 42.914 for mS/cm
+     */
+    public static double conductivity(double salinity, double temperature, double pressure) {
+        if (!(salinity > 0)) {
+            return salinity == 0 ? 0D : Double.NaN;
+        }
+        double[] c = SALINITY_C;
+        double rt = c[0] + (c[1] + (c[2] + (c[3] + c[4] * temperature) * temperature) * temperature) * temperature;
+        double r = salinity / 35D * rt;
+        for (int i = 0; i < MAX_ITERATIONS; i++) {
+            double s = salinity(r, temperature, pressure);
+            double ds = (salinity(r + DERIVATIVE_STEP, temperature, pressure) - s) / DERIVATIVE_STEP;
+            if (!(ds > 0)) {
+                break;
+            }
+            double step = (s - salinity) / ds;
+            r = r - step;
+            if (r <= 0) {
+                r = DERIVATIVE_STEP;
+            }
+            if (Math.abs(step) <= TOLERANCE * (1 + Math.abs(r))) {
+                break;
+            }
+        }
+        return r;
+    }
+
+    /*
+     * Column (batch) versions. Each one fills a caller supplied output array,
+     * so processing a cast allocates nothing, and gives exactly the same
+     * values as calling the scalar function on each row. Pass parallel = true
+     * to split large casts across the common ForkJoinPool.
+     */
+
+    /**
+     * Seawater bulk modulus of each row. See {@link #bulkmod(double, double, double)}
+     *
+     * @param salinity    (psu)
+     * @param temperature (celsius)
+     * @param pressure    (dbar)
+     * @param out         Seawater bulk modulus in BARS!! (not dbar)
+     */
+    public static void bulkmod(double[] salinity, double[] temperature, double[] pressure, double[] out) {
+        bulkmod(salinity, temperature, pressure, out, false);
+    }
+
+    /**
+     * Seawater bulk modulus of each row. See {@link #bulkmod(double, double, double)}
+     *
+     * @param salinity    (psu)
+     * @param temperature (celsius)
+     * @param pressure    (dbar)
+     * @param out         Seawater bulk modulus in BARS!! (not dbar)
+     * @param parallel    true to split the rows across the common ForkJoinPool
+     */
+    public static void bulkmod(double[] salinity, double[] temperature, double[] pressure, double[] out,
+            boolean parallel) {
+        StreamUtilities.forEachChunk(Columns.rows(salinity, temperature, pressure, out), parallel, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                out[i] = bulkmod(salinity[i], temperature[i], pressure[i]);
+            }
+        });
+    }
+
+    /**
+     * Seawater density of each row. See {@link #density(double, double, double)}.
+     * The square root of salinity is shared with the bulk modulus.
+     *
+     * @param S   Salinity (psu)
+     * @param T   Temperature (C)
+     * @param P   Pressure (dbar)
+     * @param out density (kg/liter)
+     */
+    public static void density(double[] S, double[] T, double[] P, double[] out) {
+        density(S, T, P, out, false);
+    }
+
+    /**
+     * Seawater density of each row. See {@link #density(double, double, double)}.
+     * The square root of salinity is shared with the bulk modulus.
+     *
+     * @param S        Salinity (psu)
+     * @param T        Temperature (C)
+     * @param P        Pressure (dbar)
+     * @param out      density (kg/liter)
+     * @param parallel true to split the rows across the common ForkJoinPool
+     */
+    public static void density(double[] S, double[] T, double[] P, double[] out, boolean parallel) {
+        StreamUtilities.forEachChunk(Columns.rows(S, T, P, out), parallel, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                out[i] = density(S[i], T[i], P[i]);
+            }
+        });
+    }
+
+    /**
+     * Depth of each pressure at a single latitude. See {@link #depth(double, double)}.
+     * Gravity at the latitude is computed once.
+     *
+     * @param pressure dbar
+     * @param latitude decimal degrees
+     * @param out      depth (m)
+     */
+    public static void depth(double[] pressure, double latitude, double[] out) {
+        depth(pressure, latitude, out, false);
+    }
+
+    /**
+     * Depth of each pressure at a single latitude. See {@link #depth(double, double)}.
+     * Gravity at the latitude is computed once.
+     *
+     * @param pressure dbar
+     * @param latitude decimal degrees
+     * @param out      depth (m)
+     * @param parallel true to split the rows across the common ForkJoinPool
+     */
+    public static void depth(double[] pressure, double latitude, double[] out, boolean parallel) {
+        double gravity = surfaceGravity(latitude);
+        StreamUtilities.forEachChunk(Columns.rows(pressure, out), parallel, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                out[i] = depthAtGravity(pressure[i], gravity);
+            }
+        });
+    }
+
+    /**
+     * Freezing point of each row. See {@link #freeze(double, double)}
+     *
+     * @param salinity Salinity (psu)
+     * @param pressure Pressure (dbar)
+     * @param out      Freezing point (Celsius)
+     */
+    public static void freeze(double[] salinity, double[] pressure, double[] out) {
+        StreamUtilities.forEachChunk(Columns.rows(salinity, pressure, out), false, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                out[i] = freeze(salinity[i], pressure[i]);
+            }
+        });
+    }
+
+    /**
+     * Practical salinity of each row. See {@link #salinity(double, double, double)}
+     *
+     * @param conductivity Conductivity ratio
+     * @param temperature  C
+     * @param pressure     (dbar)
+     * @param out          Practical salinity (psu or ~g/kg)
+     */
+    public static void salinity(double[] conductivity, double[] temperature, double[] pressure, double[] out) {
+        salinity(conductivity, temperature, pressure, out, false);
+    }
+
+    /**
+     * Practical salinity of each row. See {@link #salinity(double, double, double)}
+     *
+     * @param conductivity Conductivity ratio
+     * @param temperature  C
+     * @param pressure     (dbar)
+     * @param out          Practical salinity (psu or ~g/kg)
+     * @param parallel     true to split the rows across the common ForkJoinPool
+     */
+    public static void salinity(double[] conductivity, double[] temperature, double[] pressure, double[] out,
+            boolean parallel) {
+        StreamUtilities.forEachChunk(Columns.rows(conductivity, temperature, pressure, out), parallel, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                out[i] = salinity(conductivity[i], temperature[i], pressure[i]);
+            }
+        });
+    }
+
+    /**
+     * Sigma-t of each row. See {@link #sigmat(double, double)}
+     *
+     * @param salinity    psu
+     * @param temperature Celsius
+     * @param out         potential depth anomaly (g/liter)
+     */
+    public static void sigmat(double[] salinity, double[] temperature, double[] out) {
+        sigmat(salinity, temperature, out, false);
+    }
+
+    /**
+     * Sigma-t of each row. See {@link #sigmat(double, double)}
+     *
+     * @param salinity    psu
+     * @param temperature Celsius
+     * @param out         potential depth anomaly (g/liter)
+     * @param parallel    true to split the rows across the common ForkJoinPool
+     */
+    public static void sigmat(double[] salinity, double[] temperature, double[] out, boolean parallel) {
+        StreamUtilities.forEachChunk(Columns.rows(salinity, temperature, out), parallel, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                out[i] = sigmat(salinity[i], temperature[i]);
+            }
+        });
+    }
+
+    /**
+     * Sound velocity of each row. See {@link #svel(double, double, double)}
+     *
+     * @param salinity    psu
+     * @param temperature Celsius
+     * @param pressure    dbar
+     * @param out         Speed of sound in seawater (m/s)
+     */
+    public static void svel(double[] salinity, double[] temperature, double[] pressure, double[] out) {
+        svel(salinity, temperature, pressure, out, false);
+    }
+
+    /**
+     * Sound velocity of each row. See {@link #svel(double, double, double)}
+     *
+     * @param salinity    psu
+     * @param temperature Celsius
+     * @param pressure    dbar
+     * @param out         Speed of sound in seawater (m/s)
+     * @param parallel    true to split the rows across the common ForkJoinPool
+     */
+    public static void svel(double[] salinity, double[] temperature, double[] pressure, double[] out,
+            boolean parallel) {
+        StreamUtilities.forEachChunk(Columns.rows(salinity, temperature, pressure, out), parallel, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                out[i] = svel(salinity[i], temperature[i], pressure[i]);
+            }
+        });
+    }
+
+    /**
+     * Potential temperature of each row. See {@link #theta(double, double, double, double)}.
+     * Salinity - 35 is computed once per row instead of once per adiabatic
+     * gradient.
+     *
+     * @param salinity    psu
+     * @param temperature Celsius
+     * @param p0          (decibar)
+     * @param pr          Reference pressure (decibar)
+     * @param out         Potential Temperature at the reference pressure (Celsius)
+     */
+    public static void theta(double[] salinity, double[] temperature, double[] p0, double pr, double[] out) {
+        theta(salinity, temperature, p0, pr, out, false);
+    }
+
+    /**
+     * Potential temperature of each row. See {@link #theta(double, double, double, double)}.
+     * Salinity - 35 is computed once per row instead of once per adiabatic
+     * gradient.
+     *
+     * @param salinity    psu
+     * @param temperature Celsius
+     * @param p0          (decibar)
+     * @param pr          Reference pressure (decibar)
+     * @param out         Potential Temperature at the reference pressure (Celsius)
+     * @param parallel    true to split the rows across the common ForkJoinPool
+     */
+    public static void theta(double[] salinity, double[] temperature, double[] p0, double pr, double[] out,
+            boolean parallel) {
+        StreamUtilities.forEachChunk(Columns.rows(salinity, temperature, p0, out), parallel, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                out[i] = theta(salinity[i], temperature[i], p0[i], pr);
+            }
+        });
+    }
+
+    /**
+     * Pressure of each depth at a single latitude. See {@link #pressure(double, double)}
+     *
+     * @param depth    meters
+     * @param latitude decimal degrees
+     * @param out      pressure (dbar)
+     */
+    public static void pressure(double[] depth, double latitude, double[] out) {
+        pressure(depth, latitude, out, false);
+    }
+
+    /**
+     * Pressure of each depth at a single latitude. See {@link #pressure(double, double)}
+     *
+     * @param depth    meters
+     * @param latitude decimal degrees
+     * @param out      pressure (dbar)
+     * @param parallel true to split the rows across the common ForkJoinPool
+     */
+    public static void pressure(double[] depth, double latitude, double[] out, boolean parallel) {
+        double c1 = saunders(latitude);
+        double gravity = surfaceGravity(latitude);
+        StreamUtilities.forEachChunk(Columns.rows(depth, out), parallel, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                out[i] = pressureAtGravity(depth[i], c1, gravity);
+            }
+        });
+    }
+
+    /**
+     * In-situ temperature of each row. See {@link #temperature(double, double, double, double)}
+     *
+     * @param salinity psu
+     * @param theta    Potential temperature at the reference pressure (Celsius)
+     * @param p0       In-situ pressure (decibar)
+     * @param pr       Reference pressure (decibar)
+     * @param out      In-situ temperature (Celsius)
+     */
+    public static void temperature(double[] salinity, double[] theta, double[] p0, double pr, double[] out) {
+        temperature(salinity, theta, p0, pr, out, false);
+    }
+
+    /**
+     * In-situ temperature of each row. See {@link #temperature(double, double, double, double)}
+     *
+     * @param salinity psu
+     * @param theta    Potential temperature at the reference pressure (Celsius)
+     * @param p0       In-situ pressure (decibar)
+     * @param pr       Reference pressure (decibar)
+     * @param out      In-situ temperature (Celsius)
+     * @param parallel true to split the rows across the common ForkJoinPool
+     */
+    public static void temperature(double[] salinity, double[] theta, double[] p0, double pr, double[] out,
+            boolean parallel) {
+        StreamUtilities.forEachChunk(Columns.rows(salinity, theta, p0, out), parallel, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                out[i] = temperature(salinity[i], theta[i], p0[i], pr);
+            }
+        });
+    }
+
+    /**
+     * Conductivity ratio of each row. See {@link #conductivity(double, double, double)}
+     *
+     * @param salinity    Practical salinity (psu)
+     * @param temperature C
+     * @param pressure    (dbar)
+     * @param out         Conductivity ratio
+     */
+    public static void conductivity(double[] salinity, double[] temperature, double[] pressure, double[] out) {
+        conductivity(salinity, temperature, pressure, out, false);
+    }
+
+    /**
+     * Conductivity ratio of each row. See {@link #conductivity(double, double, double)}
+     *
+     * @param salinity    Practical salinity (psu)
+     * @param temperature C
+     * @param pressure    (dbar)
+     * @param out         Conductivity ratio
+     * @param parallel    true to split the rows across the common ForkJoinPool
+     */
+    public static void conductivity(double[] salinity, double[] temperature, double[] pressure, double[] out,
+            boolean parallel) {
+        StreamUtilities.forEachChunk(Columns.rows(salinity, temperature, pressure, out), parallel, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                out[i] = conductivity(salinity[i], temperature[i], pressure[i]);
+            }
+        });
+    }
 }
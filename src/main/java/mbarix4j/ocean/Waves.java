@@ -10,6 +10,9 @@ import static java.lang.Math.*;
  */
 public class Waves {
 
+    /** Acceleration of gravity (m/s^2) */
+    private static final double G = 9.8;
+
     /**
      * Ideal wave phase speed = f(Period, Depth)
      *
@@ -19,10 +22,8 @@ public class Waves {
      *         and L = wavelength in water depth, Z
      */
     public static Tuple3<Double, Double, Double> celerity(double t, double z) {
-        double ld = 9.8 * pow(t, 2) / (2 * PI);    // deep water wavelength
-        double c = sqrt(9.8 * ld / (2 * PI) * tanh(2 * PI * z / ld));
-        double ll = c * t;
-        return new Tuple3<Double, Double, Double>(c, ld, ll);
+        double c = phaseSpeed(t, z);
+        return new Tuple3<Double, Double, Double>(c, deepWaterWavelength(t), c * t);
     }
 
     /**
@@ -33,9 +34,110 @@ public class Waves {
      *         and L = wavelength in deep water
      */
     public static Tuple3<Double, Double, Double> celerity(double t) {
-        double ld = 9.8 * pow(t, 2) / (2 * PI);     // deep water wavelength
-        double c = 9.8 * t / (2 * PI);
-        double ll = c * t;
-        return new Tuple3<Double, Double, Double>(c, ld, ll);
+        double c = phaseSpeed(t);
+        return new Tuple3<Double, Double, Double>(c, deepWaterWavelength(t), c * t);
+    }
+
+    /**
+     * @param t = ideal wave period (seconds)
+     * @return deep water wavelength (m)
+     */
+    public static double deepWaterWavelength(double t) {
+        return G * pow(t, 2) / (2 * PI);
+    }
+
+    /**
+     * Ideal wave phase speed = f(Period, Depth). The wavelength at depth z is
+     * phaseSpeed * t.
+     *
+     * @param t = ideal wave period (seconds)
+     * @param z = water depth (meters)
+     * @return wave phase speed (m/s)
+     */
+    public static double phaseSpeed(double t, double z) {
+        double ld = deepWaterWavelength(t);
+        return sqrt(G * ld / (2 * PI) * tanh(2 * PI * z / ld));
+    }
+
+    /**
+     * Ideal wave phase speed = f(Period), Deep water approximation
+     *
+     * @param t = ideal wave period (seconds)
+     * @return wave phase speed (m/s)
+     */
+    public static double phaseSpeed(double t) {
+        return G * t / (2 * PI);
+    }
+
+    /**
+     * Ideal wave phase speed for each (period, depth) pair. Nothing is
+     * allocated and the values are the same as {@link #celerity(double, double)}.
+     *
+     * @param t  ideal wave periods (seconds)
+     * @param z  water depths (meters). Same length as t
+     * @param c  Output: wave phase speed (m/s)
+     * @param ld Output: deep water wavelength (m). May be null
+     * @param l  Output: wavelength in water depth z (m). May be null
+     */
+    public static void celerity(double[] t, double[] z, double[] c, double[] ld, double[] l) {
+        int n = Columns.rows(t, z, c);
+        if ((ld != null && ld.length < n) || (l != null && l.length < n)) {
+            throw new IllegalArgumentException("The output arrays must be at least as long as t");
+        }
+        for (int i = 0; i < n; i++) {
+            double ldi = deepWaterWavelength(t[i]);
+            double ci = sqrt(G * ldi / (2 * PI) * tanh(2 * PI * z[i] / ldi));
+            c[i] = ci;
+            if (ld != null) {
+                ld[i] = ldi;
+            }
+            if (l != null) {
+                l[i] = ci * t[i];
+            }
+        }
+    }
+
+    /**
+     * Ideal wave phase speed over a grid of periods (e.g. the bands of a wave
+     * spectrum) and depths. The period terms are computed once per period
+     * and the depth terms once per depth. Values are the same as
+     * {@link #celerity(double, double)}.
+     *
+     * @param periods ideal wave periods (seconds)
+     * @param depths  water depths (meters)
+     * @param c       Output: wave phase speed (m/s), periods.length * depths.length
+     *                values where c[i * depths.length + j] is for periods[i] and depths[j]
+     * @param ld      Output: deep water wavelength (m) of each period. May be null
+     * @param l       Output: wavelength (m), laid out like c. May be null
+     */
+    public static void celeritySpectrum(double[] periods, double[] depths, double[] c, double[] ld, double[] l) {
+        int nz = depths.length;
+        int n = periods.length * nz;
+        if (c.length < n || (l != null && l.length < n) || (ld != null && ld.length < periods.length)) {
+            throw new IllegalArgumentException("The output arrays are too short for a " + periods.length + " x " +
+                    nz + " grid");
+        }
+
+        double[] twoPiZ = new double[nz];
+        for (int j = 0; j < nz; j++) {
+            twoPiZ[j] = 2 * PI * depths[j];
+        }
+
+        for (int i = 0; i < periods.length; i++) {
+            double t = periods[i];
+            double ldi = deepWaterWavelength(t);
+            double a = G * ldi / (2 * PI);
+            if (ld != null) {
+                ld[i] = ldi;
+            }
+            int row = i * nz;
+            for (int j = 0; j < nz; j++) {
+                double ci = sqrt(a * tanh(twoPiZ[j] / ldi));
+                c[row + j] = ci;
+                if (l != null) {
+                    l[row + j] = ci * t;
+                }
+            }
+        }
     }
 }
@@ -1,11 +1,11 @@
 package mbarix4j.solar;
 
-import java.util.Calendar;
 import java.util.Date;
+import java.util.function.IntToDoubleFunction;
 
 import mbarix4j.math.DoubleMath;
-import mbarix4j.util.GmtCalendar;
 import mbarix4j.util.TimeUtilities;
+import mbarix4j.util.stream.StreamUtilities;
 
 
 
@@ -16,7 +16,16 @@ import mbarix4j.util.TimeUtilities;
  * This could be due to different time handiling implementations.
  */
 public class SolarPosition {
-    
+
+    private static final int ALTITUDE = 0;
+    private static final int ZENITH = 1;
+    private static final int AZIMUTH = 2;
+    private static final int DECLINATION = 3;
+    private static final int DISTANCE = 4;
+    private static final int GREENWICH_HOUR_ANGLE = 5;
+    private static final int EQUATION_OF_TIME = 6;
+    private static final int OUTPUTS = 7;
+
     private double altitude; // Solar alitude angle in radians
     private double zenith; // Solar Zenith angle in radians
     private double azimuth; // Sun azimuth in radians
@@ -47,6 +56,94 @@ public class SolarPosition {
         this(date.getTime(), latitude, longitude);
     }
 
+    private void calculateSolarPosition() {
+        double[] out = new double[OUTPUTS];
+        ephemeris(this.time, this.latitude, this.longitude, out);
+        this.altitude = out[ALTITUDE];
+        this.zenith = out[ZENITH];
+        this.distance = out[DISTANCE];
+        this.earthSunDistance = out[DISTANCE];
+        this.azimuth = out[AZIMUTH];
+        this.greenwichHourAngle = out[GREENWICH_HOUR_ANGLE];
+        this.declination = out[DECLINATION];
+        this.equationOfTime = out[EQUATION_OF_TIME];
+    }
+
+    /**
+     * Solar positions for a time series at a single location. This does the
+     * same calculation as the constructor but works directly from the epoch
+     * millis, so no Calendar or SolarPosition objects are created. Any of the
+     * output arrays can be null if it is not needed. All angles are in radians.
+     *
+     * @param millis Times of observation in epoch millis (GMT)
+     * @param latitude Location of observation in decimal degrees (+N/-S)
+     * @param longitude Location of observation in decimal degrees (-W/+E)
+     * @param zenith Output. Solar zenith angle
+     * @param azimuth Output. Sun azimuth
+     * @param declination Output. Declination
+     * @param distance Output. Earth-Sun distance in A.U.
+     * @param parallel true to split the series across the common ForkJoinPool
+     */
+    public static void calculate(long[] millis, double latitude, double longitude, double[] zenith,
+            double[] azimuth, double[] declination, double[] distance, boolean parallel) {
+        double lat = latitude * (Math.PI) / 180D;
+        double lon = longitude * (Math.PI) / 180D;
+        calculate(millis, i -> lat, i -> lon, zenith, azimuth, declination, distance, parallel);
+    }
+
+    /**
+     * Solar positions for a moving platform (e.g. a ship or glider track). See
+     * {@link #calculate(long[], double, double, double[], double[], double[], double[], boolean)}
+     *
+     * @param millis Times of observation in epoch millis (GMT)
+     * @param latitude Location of each observation in decimal degrees (+N/-S)
+     * @param longitude Location of each observation in decimal degrees (-W/+E)
+     * @param zenith Output. Solar zenith angle
+     * @param azimuth Output. Sun azimuth
+     * @param declination Output. Declination
+     * @param distance Output. Earth-Sun distance in A.U.
+     * @param parallel true to split the series across the common ForkJoinPool
+     */
+    public static void calculate(long[] millis, double[] latitude, double[] longitude, double[] zenith,
+            double[] azimuth, double[] declination, double[] distance, boolean parallel) {
+        checkLength(millis.length, latitude);
+        checkLength(millis.length, longitude);
+        calculate(millis, i -> latitude[i] * (Math.PI) / 180D, i -> longitude[i] * (Math.PI) / 180D,
+                zenith, azimuth, declination, distance, parallel);
+    }
+
+    private static void calculate(long[] millis, IntToDoubleFunction latitude, IntToDoubleFunction longitude,
+            double[] zenith, double[] azimuth, double[] declination, double[] distance, boolean parallel) {
+        int n = millis.length;
+        for (double[] column : new double[][] {zenith, azimuth, declination, distance}) {
+            checkLength(n, column);
+        }
+        StreamUtilities.forEachChunk(n, parallel, (from, to) -> {
+            double[] out = new double[OUTPUTS];
+            for (int i = from; i < to; i++) {
+                ephemeris(millis[i], latitude.applyAsDouble(i), longitude.applyAsDouble(i), out);
+                if (zenith != null) {
+                    zenith[i] = out[ZENITH];
+                }
+                if (azimuth != null) {
+                    azimuth[i] = out[AZIMUTH];
+                }
+                if (declination != null) {
+                    declination[i] = out[DECLINATION];
+                }
+                if (distance != null) {
+                    distance[i] = out[DISTANCE];
+                }
+            }
+        });
+    }
+
+    private static void checkLength(int n, double[] column) {
+        if (column != null && column.length < n) {
+            throw new IllegalArgumentException("Every array must be at least as long as millis");
+        }
+    }
+
     /** Adapted from PLOTephem.HPL and
      *  Internal parameter names (P10-P20) are identical to those in the
      *  HPL program, PLOTephem, from which this was extracted.
@@ -56,16 +153,24 @@ public class SolarPosition {
      *
      * Ported MLML/OCEANS matlab toolbox function almanac_.m
      * 17 Nov 2000; Debugged Get exact matchups with almanac_.m and altazm_.m
+     *
+     * Shared by the constructor and the batch methods.
+     *
+     * @param millis Epoch millis (GMT)
+     * @param latitude radians
+     * @param longitude radians
+     * @param out The results, indexed by ALTITUDE, ZENITH, etc.
      */
-    private void calculateSolarPosition() {
+    private static void ephemeris(long millis, double latitude, double longitude, double[] out) {
 
-        GmtCalendar gc = new GmtCalendar(this.time);
-        double hour = gc.get(Calendar.HOUR_OF_DAY);
-        double minute = gc.get(Calendar.MINUTE);
-        double second = gc.get(Calendar.SECOND);
+        // The hour, minute and second are whole units just as they were from a GmtCalendar
+        int secondOfDay = (int) (Math.floorMod(millis, TimeUtilities.MILLIS_PER_DAY) / 1000L);
+        double hour = secondOfDay / 3600;
+        double minute = (secondOfDay % 3600) / 60;
+        double second = secondOfDay % 60;
         double decimalHour = hour + (minute + second / 60D) / 60D;
 
-        double julianDate = TimeUtilities.getJulianDate(this.time) + decimalHour / 24.0; // Julian Date + hours
+        double julianDate = TimeUtilities.getJulianDate(millis) + decimalHour / 24.0; // Julian Date + hours
         double days2000 = julianDate - 2451545.0;
         double cent1900 = 1.0 + days2000 / 36525.0;
         double gmst = 6.6460656 + 2400.051262 * cent1900 + 0.0000258 * Math.pow(cent1900, 2);
@@ -129,7 +234,7 @@ public class SolarPosition {
         // I went to some trouble to discover all of this...
         // so keep the commented lines as a tutorial.
         double equationOfTime = Math.asin(P20 / Math.sqrt(P19 - P18 * P18)); // Equation of Time (radians)
-        earthSunDistance = 1.00021 * Math.sqrt(P19); // Earth-Sun Distance (A.U.)
+        double earthSunDistance = 1.00021 * Math.sqrt(P19); // Earth-Sun Distance (A.U.)
         double declination = Math.asin(P18 / Math.sqrt(P19)); // Declination (radians)
         double meanRightAscension = P12; // Mean Right Ascension (radians)
         double rightAscension = meanRightAscension + equationOfTime; // Right Ascension (radians)
@@ -138,8 +243,8 @@ public class SolarPosition {
         gha = DoubleMath.rem(gha, Math.PI * 2D);
         double sha = (2 * Math.PI) + rightAscension; //Siderial  Hour Angle Sun (radians)
         double sunLongitude = meanRightAscension + P17 / 3600D; // Sun Longitude
-        double longitudeRadians = -this.longitude;
-        double latitudeRadians = this.latitude;
+        double longitudeRadians = -longitude;
+        double latitudeRadians = latitude;
 
         double lha = gha - longitudeRadians;
         double solarZenith = Math.acos(Math.sin(latitudeRadians) * Math.sin(declination) + Math.cos(latitudeRadians) * Math.cos(declination) * Math.cos(lha)); // THeta
@@ -156,13 +261,13 @@ public class SolarPosition {
         }
 
         double solarAltitude = Math.PI / 2D - solarZenith; // Degrees above the horizon
-        this.altitude = solarAltitude;
-        this.zenith = solarZenith;
-        this.distance = earthSunDistance;
-        this.azimuth = solarAzimuth;
-        this.greenwichHourAngle = gha;
-        this.declination = declination;
-        this.equationOfTime = equationOfTime;
+        out[ALTITUDE] = solarAltitude;
+        out[ZENITH] = solarZenith;
+        out[DISTANCE] = earthSunDistance;
+        out[AZIMUTH] = solarAzimuth;
+        out[GREENWICH_HOUR_ANGLE] = gha;
+        out[DECLINATION] = declination;
+        out[EQUATION_OF_TIME] = equationOfTime;
     }
     
      /**
@@ -30,6 +30,15 @@ import java.util.GregorianCalendar;
  */
 public class TimeUtilities {
 
+    /** Milliseconds in a day, ignoring leap seconds as epoch millis do */
+    public static final long MILLIS_PER_DAY = 86400000L;
+
+    /** Julian Date of 1970-01-01T00:00:00Z */
+    private static final double JULIAN_DATE_AT_EPOCH = 2440587.5;
+
+    /** About a million years. The arithmetic Julian Date is checked against the calendar well past this */
+    private static final long MAX_ARITHMETIC_MILLIS = 1000000L * 365L * MILLIS_PER_DAY;
+
     /**
      *
      * @param date
@@ -175,21 +184,79 @@ public class TimeUtilities {
      */
     public static double[] getJulianDate(long[] millis) {
         double[] julianDate = new double[millis.length];
-        for (int i = 0; i < millis.length; i++) {
-            julianDate[i] = TimeUtilities.getJulianDate(millis[i]);
-        }
+        getJulianDate(millis, julianDate);
 
         return julianDate;
     }
 
+    /**
+     * Array form of {@link #getJulianDate(long)} that writes into an existing
+     * array, so very long time series can be converted without allocating.
+     *
+     * @param millis Epoch millis (GMT)
+     * @param julianDate Output. Must be at least as long as millis
+     */
+    public static void getJulianDate(long[] millis, double[] julianDate) {
+        if (julianDate.length < millis.length) {
+            throw new IllegalArgumentException("julianDate must be at least as long as millis");
+        }
+        for (int i = 0; i < millis.length; i++) {
+            julianDate[i] = getJulianDate(millis[i]);
+        }
+    }
+
     /**
      * Julian Date (not Day of Year). Check values against matlabs juldate_.m on
      * 14 Nov 2000. Found some problems so I checked it again on 16 Nov 2000. It
      * appears to match exactly now.
-     * @param millis
-     * @return
+     *
+     * <p>This is the Julian Date at 00:00 GMT of the day that millis falls on.
+     * It is computed directly from the epoch millis. That gives exactly the
+     * same value as the calendar based calculation because the Julian Date
+     * counts days continuously across the Julian to Gregorian changeover. The
+     * calendar is only used for times more than a million years from 1970.</p>
+     *
+     * @param millis Epoch millis (GMT)
+     * @return The Julian Date
      */
     public static double getJulianDate(long millis) {
+        if (millis > MAX_ARITHMETIC_MILLIS || millis < -MAX_ARITHMETIC_MILLIS) {
+            return getJulianDateFromCalendar(millis);
+        }
+        return JULIAN_DATE_AT_EPOCH + Math.floorDiv(millis, MILLIS_PER_DAY);
+    }
+
+    /**
+     * The inverse of the Julian Date. Unlike {@link #getJulianDate(long)},
+     * which returns the Julian Date of the start of the day, this uses the
+     * fraction of the day too.
+     *
+     * @param julianDate A Julian Date, including any fraction of a day
+     * @return The epoch millis (GMT), rounded to the nearest millisecond
+     */
+    public static long julianDateToMillis(double julianDate) {
+        return Math.round((julianDate - JULIAN_DATE_AT_EPOCH) * MILLIS_PER_DAY);
+    }
+
+    /**
+     * Array form of {@link #julianDateToMillis(double)}
+     *
+     * @param julianDate Julian Dates
+     * @param millis Output. Must be at least as long as julianDate
+     */
+    public static void julianDateToMillis(double[] julianDate, long[] millis) {
+        if (millis.length < julianDate.length) {
+            throw new IllegalArgumentException("millis must be at least as long as julianDate");
+        }
+        for (int i = 0; i < julianDate.length; i++) {
+            millis[i] = julianDateToMillis(julianDate[i]);
+        }
+    }
+
+    /**
+     * The original calendar based Julian Date, from juldate_.m
+     */
+    static double getJulianDateFromCalendar(long millis) {
         double startGregorian = 588829;    // Julian date when Gregorian calendar was adopted
         GmtCalendar gmt = new GmtCalendar(millis);
         int year = gmt.get(Calendar.YEAR);
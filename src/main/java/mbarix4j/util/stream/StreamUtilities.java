@@ -4,11 +4,60 @@ import java.util.Enumeration;
 import java.util.Iterator;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 public class StreamUtilities {
 
+    /** Indices per chunk used by {@link #forEachChunk(int, boolean, Chunk)} */
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 12;
+
+    /**
+     * Work on the indices fromIndex (inclusive) to toIndex (exclusive)
+     */
+    @FunctionalInterface
+    public interface Chunk {
+        void apply(int fromIndex, int toIndex);
+    }
+
+    /**
+     * Split the indices 0 to n into chunks of {@link #DEFAULT_CHUNK_SIZE}
+     * and run each one. See {@link #forEachChunk(int, int, boolean, Chunk)}
+     *
+     * @param n The number of indices
+     * @param parallel true to run the chunks on the common ForkJoinPool
+     * @param chunk The work
+     */
+    public static void forEachChunk(int n, boolean parallel, Chunk chunk) {
+        forEachChunk(n, DEFAULT_CHUNK_SIZE, parallel, chunk);
+    }
+
+    /**
+     * Split the indices 0 to n into chunks and run each one. A chunk can
+     * allocate its own scratch arrays once and reuse them for every index in
+     * it, which is cheaper than allocating per index and safe in parallel.
+     *
+     * @param n The number of indices
+     * @param chunkSize The number of indices in each chunk (the last may be shorter)
+     * @param parallel true to run the chunks on the common ForkJoinPool
+     * @param chunk The work
+     */
+    public static void forEachChunk(int n, int chunkSize, boolean parallel, Chunk chunk) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be at least 1, found was " + chunkSize);
+        }
+        int chunks = (int) ((n + (long) chunkSize - 1) / chunkSize);
+        IntStream stream = IntStream.range(0, chunks);
+        if (parallel) {
+            stream = stream.parallel();
+        }
+        stream.forEach(c -> {
+            int from = c * chunkSize;
+            chunk.apply(from, (int) Math.min(n, (long) from + chunkSize));
+        });
+    }
+
     /**
      * Transform an Iterator to a Stream
      * @param sourceIterator
@@ -0,0 +1,135 @@
+package mbarix4j.math;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * @author Brian Schlining
+ * @since 2026-10-17
+ */
+public class ColumnBinnerTest {
+
+    private final int n = 24 * 60 * 10;
+    private final double[] pressure = new double[n];
+    private final double[] temperature = new double[n];
+    private final double[] salinity = new double[n];
+
+    public ColumnBinnerTest() {
+        Random random = new Random(18L);
+        for (int i = 0; i < n; i++) {
+            pressure[i] = i / 24D + random.nextGaussian() * 0.1;
+            temperature[i] = 15 - pressure[i] / 100 + random.nextGaussian() * 0.01;
+            salinity[i] = 34 + pressure[i] / 1000 + random.nextGaussian() * 0.001;
+        }
+        temperature[500] = Double.NaN;
+    }
+
+    @Test
+    public void testMatchesStatlib() {
+        Histogram histogram = Histogram.uniform(0, 600, 601);
+        ColumnBinner.Result result = new ColumnBinner(histogram).bin(pressure, temperature, salinity);
+        assertEquals(2, result.getNumberOfColumns());
+        double[][] columns = {temperature, salinity};
+        for (int c = 0; c < columns.length; c++) {
+            int[] count = result.getCount(c);
+            double[] mean = result.getMean(c);
+            double[] median = result.getMedian(c);
+            double[] std = result.getStandardDeviation(c);
+            for (int k = 0; k < histogram.getNumberOfBins(); k++) {
+                List<Double> values = new ArrayList<>();
+                for (int i = 0; i < n; i++) {
+                    if (histogram.bin(pressure[i]) == k && !Double.isNaN(columns[c][i])) {
+                        values.add(columns[c][i]);
+                    }
+                }
+                double[] v = values.stream().mapToDouble(Double::doubleValue).toArray();
+                assertEquals(v.length, count[k]);
+                if (v.length == 0) {
+                    assertTrue(Double.isNaN(mean[k]));
+                    continue;
+                }
+                assertEquals(Statlib.mean(v), mean[k], 1E-12);
+                assertEquals(Statlib.median(v), median[k], 0);
+                if (v.length > 1) {
+                    assertEquals(Statlib.standardDeviation(v), std[k], 1E-12);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testDespike() {
+        double[] spiked = Arrays.copyOf(temperature, n);
+        spiked[1000] += 5;
+        spiked[2000] -= 3;
+        double[] despiked = ColumnBinner.despike(spiked, 7, 5);
+        assertTrue(Double.isNaN(despiked[1000]));
+        assertTrue(Double.isNaN(despiked[2000]));
+        int removed = 0;
+        for (int i = 0; i < n; i++) {
+            if (Double.isNaN(despiked[i]) && !Double.isNaN(spiked[i])) {
+                removed++;
+            }
+        }
+        assertTrue("Removed " + removed, removed < n / 100);
+
+        Histogram histogram = Histogram.uniform(0, 600, 601);
+        ColumnBinner.Result result = new ColumnBinner(histogram, 7, 5).bin(pressure, spiked);
+        ColumnBinner.Result clean = new ColumnBinner(histogram).bin(pressure, temperature);
+        int k = histogram.bin(pressure[1000]);
+        assertEquals(clean.getMean(0)[k], result.getMean(0)[k], 0.01);
+    }
+
+    @Test
+    public void testDespikeQuantized() {
+        // Mostly flat with occasional one-count steps, like a quantized sensor
+        double[] counts = new double[2000];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = 1000 + (i / 37) % 3;
+        }
+        counts[500] += 40;
+        double[] despiked = ColumnBinner.despike(counts, 7, 5);
+        assertTrue(Double.isNaN(despiked[500]));
+        for (int i = 0; i < counts.length; i++) {
+            if (i != 500) {
+                assertEquals(counts[i], despiked[i], 0D);
+            }
+        }
+
+        // Constant data has no spikes
+        double[] flat = new double[100];
+        Arrays.fill(flat, 12.5);
+        assertArrayEquals(flat, ColumnBinner.despike(flat, 7, 5), 0D);
+    }
+
+    @Test
+    public void testBinAll() {
+        Histogram histogram = Histogram.uniform(0, 600, 601);
+        ColumnBinner binner = new ColumnBinner(histogram, 5, 6);
+        List<double[][]> casts = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            casts.add(new double[][] {pressure, temperature, salinity});
+        }
+        List<ColumnBinner.Result> sequential = binner.binAll(casts, false);
+        List<ColumnBinner.Result> parallel = binner.binAll(casts, true);
+        ColumnBinner.Result single = binner.bin(pressure, temperature, salinity);
+        assertEquals(casts.size(), parallel.size());
+        for (int i = 0; i < casts.size(); i++) {
+            for (int c = 0; c < 2; c++) {
+                assertArrayEquals(single.getMean(c), sequential.get(i).getMean(c), 0);
+                assertArrayEquals(single.getMedian(c), parallel.get(i).getMedian(c), 0);
+                assertArrayEquals(single.getCount(c), parallel.get(i).getCount(c));
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testColumnLengths() {
+        new ColumnBinner(Histogram.uniform(0, 10, 11)).bin(new double[10], new double[9]);
+    }
+}
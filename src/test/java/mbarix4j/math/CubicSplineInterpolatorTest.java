@@ -0,0 +1,62 @@
+package mbarix4j.math;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * @author Brian Schlining
+ * @since 2026-10-17
+ */
+public class CubicSplineInterpolatorTest {
+
+    private double tolerance = 0.0000000001;
+
+    /**
+     * Worked by hand: the natural spline through (0, 0), (1, 1), (2, 0) is
+     * 1.5t - 0.5t^3 on the first segment.
+     */
+    @Test
+    public void testNaturalSpline() {
+        Interpolator spline = new CubicSplineInterpolator(new double[] {0, 1, 2}, new double[] {0, 1, 0});
+        assertEquals(0.6875, spline.interpolate(0.5), tolerance);
+        assertEquals(0.6875, spline.interpolate(1.5), tolerance);
+        assertEquals(1D, spline.interpolate(1), 0D);
+        assertTrue(Double.isNaN(spline.interpolate(-0.5)));
+        assertTrue(Double.isNaN(spline.interpolate(2.5)));
+    }
+
+    @Test
+    public void testReproducesLines() {
+        double[] x = {0, 0.5, 3, 4, 10};
+        double[] y = new double[x.length];
+        for (int i = 0; i < x.length; i++) {
+            y[i] = 3 * x[i] - 2;
+        }
+        Interpolator spline = new CubicSplineInterpolator(x, y);
+        for (double xi = 0; xi <= 10; xi += 0.25) {
+            assertEquals(3 * xi - 2, spline.interpolate(xi), tolerance);
+        }
+    }
+
+    @Test
+    public void testSmoothFunction() {
+        double[] x = Matlib.linspace(0, 2 * Math.PI, 101);
+        double[] y = new double[x.length];
+        for (int i = 0; i < x.length; i++) {
+            y[i] = Math.sin(x[i]);
+        }
+        Interpolator spline = new CubicSplineInterpolator(x, y);
+        Random random = new Random(7L);
+        double[] xi = new double[1000];
+        for (int i = 0; i < xi.length; i++) {
+            xi[i] = random.nextDouble() * 2 * Math.PI;
+        }
+        double[] yi = spline.interpolate(xi);
+        for (int i = 0; i < xi.length; i++) {
+            assertEquals(Math.sin(xi[i]), yi[i], 0.00001);
+            assertEquals(spline.interpolate(xi[i]), yi[i], 0D);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package mbarix4j.math;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Brian Schlining
+ * @since 2026-10-17
+ */
+public class HistogramTest {
+
+    @Test
+    public void testUniformEdgesMatchBinarySearch() {
+        double[] edges = Matlib.linspace(-3, 7, 101);
+        Histogram histogram = Histogram.ofEdges(edges);
+        assertTrue(histogram.isUniform());
+        double[] data = data(edges);
+        assertArrayEquals(binarySearchHistc(data, edges), histogram.count(data));
+    }
+
+    @Test
+    public void testNonUniformEdgesMatchBinarySearch() {
+        double[] edges = {-3, -2.5, -1, 0, 0.1, 2, 5, 7};
+        Histogram histogram = Histogram.ofEdges(edges);
+        assertFalse(histogram.isUniform());
+        double[] data = data(edges);
+        assertArrayEquals(binarySearchHistc(data, edges), histogram.count(data));
+    }
+
+    @Test
+    public void testUniformCentersMatchNear() {
+        double[] centers = Matlib.linspace(0, 10, 41);
+        double[] data = data(centers);
+        for (boolean inclusive : new boolean[] {true, false}) {
+            Histogram histogram = Histogram.ofCenters(centers, inclusive);
+            assertTrue(histogram.isUniform());
+            long[] expected = new long[centers.length];
+            for (double datum : data) {
+                int n = Matlib.near(centers, datum, inclusive);
+                if (n >= 0) {
+                    expected[n]++;
+                }
+            }
+            assertArrayEquals(expected, histogram.count(data));
+        }
+    }
+
+    @Test
+    public void testParallelCount() {
+        double[] edges = Matlib.linspace(0, 20, 201);
+        Random random = new Random(42L);
+        double[] data = new double[Histogram.PARALLEL_THRESHOLD * 5 + 17];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = 10 + random.nextGaussian() * 4;
+        }
+        Histogram histogram = Histogram.ofEdges(edges);
+        assertArrayEquals(histogram.count(data), histogram.parallelCount(data));
+    }
+
+    @Test
+    public void testDegenerateEdges() {
+        assertArrayEquals(new long[] {2}, Histogram.ofEdges(new double[] {5}).count(new double[] {4, 5, 5, 6}));
+        assertEquals(0, Histogram.ofEdges(new double[0]).count(new double[] {1, 2}).length);
+    }
+
+    /**
+     * Random values plus every edge, the midpoints between edges, values just
+     * either side of each edge, values outside the edges and NaN.
+     */
+    private static double[] data(double[] edges) {
+        Random random = new Random(1234L);
+        double min = edges[0];
+        double max = edges[edges.length - 1];
+        double[] data = new double[2000 + edges.length * 4 + 3];
+        int k = 0;
+        for (int i = 0; i < 2000; i++) {
+            data[k++] = min - 1 + random.nextDouble() * (max - min + 2);
+        }
+        for (int i = 0; i < edges.length; i++) {
+            data[k++] = edges[i];
+            data[k++] = Math.nextDown(edges[i]);
+            data[k++] = Math.nextUp(edges[i]);
+            data[k++] = (i < edges.length - 1) ? (edges[i] + edges[i + 1]) / 2 : max + 1;
+        }
+        data[k++] = Double.NaN;
+        data[k++] = Double.NEGATIVE_INFINITY;
+        data[k] = Double.POSITIVE_INFINITY;
+        return data;
+    }
+
+    /**
+     * The binary search implementation that Statlib.histc used before Histogram
+     */
+    private static long[] binarySearchHistc(double[] data, double[] edges) {
+        long[] histogram = new long[edges.length];
+        for (double datum : data) {
+            int idx = Arrays.binarySearch(edges, datum);
+            if (idx < 0) {
+                idx = -idx - 1;
+                if (idx <= 0 || idx >= edges.length) {
+                    idx = -1;
+                }
+                else if (idx > edges.length - 2) {
+                    idx = edges.length - 2;
+                }
+                else {
+                    idx = idx - 1;
+                }
+            }
+            if (idx >= 0) {
+                histogram[idx]++;
+            }
+        }
+        return histogram;
+    }
+}
@@ -0,0 +1,94 @@
+package mbarix4j.math;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * @author Brian Schlining
+ * @since 2026-10-17
+ */
+public class LinearInterpolatorTest {
+
+    private double[] x = {0D, 1D, 2D, 3D, 4D, 5D, 6D, 7D, 8D};
+    private double[] y = {0D, 1D, 2D, 6D, 8D, 11D, 20D, 10D, 9D};
+
+    @Test
+    public void testScalar() {
+        Interpolator interpolator = new LinearInterpolator(x, y);
+        assertEquals(1D, interpolator.interpolate(1D), 0D);
+        assertEquals(9.5D, interpolator.interpolate(4.5D), 0.0000001);
+        assertEquals(9D, interpolator.interpolate(8D), 0D);
+        assertTrue(Double.isNaN(interpolator.interpolate(-0.1)));
+        assertTrue(Double.isNaN(interpolator.interpolate(8.1)));
+        assertTrue(Double.isNaN(interpolator.interpolate(Double.NaN)));
+    }
+
+    @Test
+    public void testMatchesBinarySearch() {
+        Random random = new Random(42L);
+        double[] xx = Matlib.linspace(350, 700, 71);
+        double[] yy = new double[xx.length];
+        for (int i = 0; i < yy.length; i++) {
+            yy[i] = random.nextDouble() * 200;
+        }
+
+        // Unsorted queries, including a few outside the grid and on the knots
+        double[] xi = new double[5000];
+        for (int i = 0; i < xi.length; i++) {
+            xi[i] = (i % 10 == 0) ? xx[random.nextInt(xx.length)] : 340 + random.nextDouble() * 370;
+        }
+        Interpolator interpolator = new LinearInterpolator(xx, yy);
+        assertArrayEquals(binarySearchInterpolate(xx, yy, xi), interpolator.interpolate(xi), 0D);
+
+        // Sorted queries use the linear walk
+        Arrays.sort(xi);
+        double[] yi = new double[xi.length];
+        interpolator.interpolate(xi, yi);
+        for (int i = 0; i < xi.length; i++) {
+            assertEquals(interpolator.interpolate(xi[i]), yi[i], 0D);
+        }
+    }
+
+    /**
+     * The binary search interpolation Matlib.interpolate used before it
+     * delegated to LinearInterpolator
+     */
+    private static double[] binarySearchInterpolate(double[] x, double[] y, double[] xi) {
+        double[] slope = new double[x.length - 1];
+        double[] intercept = new double[x.length - 1];
+        for (int i = 0; i < x.length - 1; i++) {
+            slope[i] = (y[i + 1] - y[i]) / (x[i + 1] - x[i]);
+            intercept[i] = y[i] - x[i] * slope[i];
+        }
+        double[] yi = new double[xi.length];
+        for (int i = 0; i < xi.length; i++) {
+            if ((xi[i] > x[x.length - 1]) || (xi[i] < x[0])) {
+                yi[i] = Double.NaN;
+            }
+            else {
+                int loc = Arrays.binarySearch(x, xi[i]);
+                if (loc < -1) {
+                    loc = -loc - 2;
+                    yi[i] = slope[loc] * xi[i] + intercept[loc];
+                }
+                else {
+                    yi[i] = y[loc];
+                }
+            }
+        }
+        return yi;
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsortedGrid() {
+        new LinearInterpolator(new double[] {0, 2, 1}, new double[] {0, 1, 2});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDuplicateGrid() {
+        new LinearInterpolator(new double[] {0, 1, 1}, new double[] {0, 1, 2});
+    }
+}
@@ -6,6 +6,8 @@
 package mbarix4j.math;
 
 import java.math.BigDecimal;
+import java.util.Random;
+import java.util.TreeMap;
 import static org.junit.Assert.*;
 import org.junit.Test;
 
@@ -223,6 +225,40 @@ public class MatlibTest {
         assertEquals(e, a, tol);
     }
 
+    @Test
+    public void testTrapzSummation() {
+        double[] x = new double[] {1, 2, 4, 8, 16};
+        double[] y = new double[] {2, 3, 2, 4, 8};
+        for (Summation summation : Summation.values()) {
+            assertEquals(summation.name(), 67.5, Matlib.trapz(x, y, summation), tol);
+        }
+    }
+
+    @Test
+    public void testCompensatedSum() {
+        // One big value followed by many small ones that a plain loop drops
+        int n = 1000001;
+        double[] values = new double[n];
+        values[0] = 1E16;
+        for (int i = 1; i < n; i++) {
+            values[i] = 1D;
+        }
+        assertEquals(1E16 + 1E6, Matlib.sum(values, Summation.KAHAN), 0D);
+        assertEquals(1E16 + 1E6, Matlib.sum(values, Summation.PAIRWISE), 1E3);
+
+        double[] tenths = new double[n];
+        java.util.Arrays.fill(tenths, 0.1);
+        assertEquals(100000.1, Matlib.sum(tenths, Summation.KAHAN), 1E-9);
+        assertEquals(100000.1, Matlib.sum(tenths), 1E-4);
+    }
+
+    @Test
+    public void testSubset() {
+        double[] values = {10, 20, 30, 40};
+        assertArrayEquals(new double[] {40, 10, 30}, Matlib.subset(values, new int[] {3, 0, 2}), 0D);
+        long[] longs = {10, 20, 30, 40};
+        assertArrayEquals(new long[] {20, 40}, Matlib.subset(longs, new int[] {1, 3}));
+    }
 
     @Test
     public void testPearsonsCorrelation() {
@@ -247,4 +283,80 @@ public class MatlibTest {
 
     }
 
+    @Test
+    public void testUniqueSort() {
+        double[] x = {5, 3, 3, 9, -1, 5, 0, -0D, Double.NaN, 2, Double.NaN};
+        assertArrayEquals(treeMapUniqueSort(x), Matlib.uniqueSort(x));
+        assertArrayEquals(new int[] {4, 7, 6, 9, 1, 0, 3, 8}, Matlib.uniqueSort(x));
+        assertEquals(0, Matlib.uniqueSort(new double[] {}).length);
+
+        long[] t = {1000L, 999L, -5L, 1000L, Long.MAX_VALUE, Long.MIN_VALUE, -5L};
+        assertArrayEquals(new int[] {5, 2, 1, 0, 4}, Matlib.uniqueSort(t));
+    }
+
+    @Test
+    public void testParallelUniqueSort() {
+        Random random = new Random(1234L);
+        int n = 300000;
+        long[] t = new long[n];
+        double[] d = new double[n];
+        for (int i = 0; i < n; i++) {
+            t[i] = 1262304000000L + i * 1000L + random.nextInt(5000);
+            d[i] = random.nextInt(50000) / 10D - 2500D;
+        }
+        int[] expected = treeMapUniqueSort(d);
+        assertArrayEquals(expected, Matlib.uniqueSort(d));
+        assertArrayEquals(expected, Matlib.parallelUniqueSort(d));
+        assertArrayEquals(Matlib.uniqueSort(t), Matlib.parallelUniqueSort(t));
+    }
+
+    @Test
+    public void testNearBatch() {
+        Random random = new Random(99L);
+        double[] values = new double[5000];
+        long[] times = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i * 2D + random.nextInt(2);
+            times[i] = 1262304000000L + (long) values[i] * 1000L;
+        }
+        int n = Nearest.PARALLEL_THRESHOLD + 1000;
+        double[] keys = new double[n];
+        long[] timeKeys = new long[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = random.nextInt(2 * 10220) / 2D - 10D;  // Includes exact matches, ties and keys outside the values
+            timeKeys[i] = 1262304000000L + (long) (keys[i] * 1000);
+        }
+        double[] sortedKeys = keys.clone();
+        java.util.Arrays.sort(sortedKeys);
+        long[] sortedTimeKeys = timeKeys.clone();
+        java.util.Arrays.sort(sortedTimeKeys);
+
+        for (boolean inclusive : new boolean[] {true, false}) {
+            for (double[] k : new double[][] {keys, sortedKeys}) {
+                int[] actual = Matlib.near(values, k, inclusive);
+                for (int i = 0; i < k.length; i++) {
+                    assertEquals(Matlib.near(values, k[i], inclusive), actual[i]);
+                }
+            }
+            for (long[] k : new long[][] {timeKeys, sortedTimeKeys}) {
+                int[] actual = Matlib.near(times, k, inclusive);
+                for (int i = 0; i < k.length; i++) {
+                    // Timestamps are whole seconds times 1000 so the double version gives the same answer
+                    int expected = Matlib.near(values, (k[i] - 1262304000000L) / 1000D, inclusive);
+                    assertEquals(expected, actual[i]);
+                    assertEquals(expected, Matlib.near(times, k[i], inclusive));
+                }
+            }
+        }
+    }
+
+    /** The original implementation of uniqueSort */
+    private int[] treeMapUniqueSort(double[] x) {
+        TreeMap<Double, Integer> tm = new TreeMap<>();
+        for (int i = 0; i < x.length; i++) {
+            tm.putIfAbsent(x[i], i);
+        }
+        return tm.values().stream().mapToInt(Integer::intValue).toArray();
+    }
+
 }
@@ -0,0 +1,51 @@
+package mbarix4j.math;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * @author Brian Schlining
+ * @since 2026-10-17
+ */
+public class PchipInterpolatorTest {
+
+    private double tolerance = 0.0000000001;
+
+    /**
+     * In Matlab: pchip([0 1 2], [0 1 0], [0.5 1.5]) = [0.75 0.75]
+     */
+    @Test
+    public void testPchip() {
+        Interpolator pchip = new PchipInterpolator(new double[] {0, 1, 2}, new double[] {0, 1, 0});
+        assertEquals(0.75, pchip.interpolate(0.5), tolerance);
+        assertEquals(0.75, pchip.interpolate(1.5), tolerance);
+        assertEquals(1D, pchip.interpolate(1), 0D);
+        assertTrue(Double.isNaN(pchip.interpolate(-0.5)));
+        assertTrue(Double.isNaN(pchip.interpolate(2.5)));
+    }
+
+    @Test
+    public void testNoOvershoot() {
+        // A step, where a spline rings on both sides
+        double[] x = {0, 1, 2, 3, 4, 5, 6};
+        double[] y = {0, 0, 0, 1, 1, 1, 1};
+        Interpolator pchip = new PchipInterpolator(x, y);
+        double[] xi = Matlib.linspace(0, 6, 601);
+        double[] yi = pchip.interpolate(xi);
+        for (int i = 0; i < yi.length; i++) {
+            assertTrue(yi[i] >= 0 && yi[i] <= 1);
+            if (i > 0) {
+                assertTrue("Not monotonic at " + xi[i], yi[i] >= yi[i - 1]);
+            }
+        }
+        assertEquals(0D, pchip.interpolate(1.5), 0D);
+        assertEquals(1D, pchip.interpolate(4.5), 0D);
+    }
+
+    @Test
+    public void testTwoPoints() {
+        Interpolator pchip = new PchipInterpolator(new double[] {1, 3}, new double[] {2, 6});
+        assertEquals(4D, pchip.interpolate(2), tolerance);
+    }
+}
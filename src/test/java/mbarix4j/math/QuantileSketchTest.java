@@ -0,0 +1,177 @@
+package mbarix4j.math;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.SplittableRandom;
+import org.junit.Test;
+
+/**
+ * @author Brian Schlining
+ * @since 2026-10-17
+ */
+public class QuantileSketchTest {
+
+    private double[] percents = {0, 0.01, 0.05, 0.1, 0.25, 0.5, 0.75, 0.9, 0.95, 0.99, 1};
+
+    @Test
+    public void testExactForSmallInputs() {
+        Random random = new Random(3L);
+        double[] values = new double[150];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextGaussian();
+        }
+        QuantileSketch sketch = new QuantileSketch().addAll(values);
+        for (double p : percents) {
+            assertEquals(Statlib.percentile(values, p), sketch.getQuantile(p), 0D);
+        }
+    }
+
+    @Test
+    public void testExactUpToK() {
+        int k = QuantileSketch.DEFAULT_K;
+        Random random = new Random(8L);
+        double[] values = new double[k + 1];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextGaussian();
+        }
+        QuantileSketch sketch = new QuantileSketch(k, new SplittableRandom(9L));
+        for (int i = 0; i < k; i++) {
+            sketch.accept(values[i]);
+        }
+        double[] first = Arrays.copyOf(values, k);
+        assertEquals(k, sketch.getRetained());
+        for (int i = 0; i <= 100; i++) {
+            assertEquals(Statlib.percentile(first, i / 100D), sketch.getQuantile(i / 100D), 0D);
+        }
+
+        // One more value and the sketch compacts
+        sketch.accept(values[k]);
+        assertEquals(k + 1, sketch.getN());
+        assertTrue(sketch.getRetained() < k + 1);
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        assertRankError(sketch, sorted);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testHugeK() {
+        new QuantileSketch(Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void testAgreesWithPercentile() {
+        Random random = new Random(11L);
+        int n = 1000000;
+        double[] values = new double[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = 12 + random.nextGaussian() * 3;
+        }
+        QuantileSketch sketch = new QuantileSketch(QuantileSketch.DEFAULT_K, new SplittableRandom(5L));
+        sketch.addAll(values);
+        assertEquals(n, sketch.getN());
+        assertTrue("Sketch should use bounded memory", sketch.getRetained() < 4 * QuantileSketch.DEFAULT_K);
+
+        double[] sorted = Arrays.copyOf(values, n);
+        Arrays.sort(sorted);
+        assertRankError(sketch, sorted);
+    }
+
+    @Test
+    public void testMergeAndSerialize() {
+        Random random = new Random(17L);
+        int n = 300000;
+        double[] values = new double[n];
+        QuantileSketch a = new QuantileSketch(QuantileSketch.DEFAULT_K, new SplittableRandom(1L));
+        QuantileSketch b = new QuantileSketch(QuantileSketch.DEFAULT_K, new SplittableRandom(2L));
+        for (int i = 0; i < n; i++) {
+            values[i] = random.nextDouble() * 100;
+            if (i < n / 3) {
+                a.accept(values[i]);
+            }
+            else {
+                b.accept(values[i]);
+            }
+        }
+        a.accept(Double.NaN);
+        a.merge(b);
+        assertEquals(n, a.getN());
+
+        QuantileSketch restored = QuantileSketch.fromBytes(a.toBytes());
+        assertEquals(a.getN(), restored.getN());
+        assertEquals(a.getMin(), restored.getMin(), 0D);
+        assertArrayEquals(a.getQuantiles(percents), restored.getQuantiles(percents), 0D);
+
+        double[] sorted = Arrays.copyOf(values, n);
+        Arrays.sort(sorted);
+        assertRankError(restored, sorted);
+    }
+
+    @Test
+    public void testMergeWithSelf() {
+        Random random = new Random(5L);
+        QuantileSketch a = new QuantileSketch(QuantileSketch.DEFAULT_K, new SplittableRandom(3L));
+        for (int i = 0; i < 50000; i++) {
+            a.accept(random.nextDouble());
+        }
+        double median = a.getQuantile(0.5);
+        a.merge(a);
+        assertEquals(100000, a.getN());
+        assertEquals(median, a.getQuantile(0.5), 0.02);
+    }
+
+    @Test
+    public void testCorruptBytes() {
+        QuantileSketch a = new QuantileSketch(QuantileSketch.DEFAULT_K, new SplittableRandom(4L));
+        for (int i = 0; i < 1000; i++) {
+            a.accept(i);
+        }
+        byte[] bytes = a.toBytes();
+
+        // Every truncation is rejected
+        for (int length = 0; length < bytes.length; length++) {
+            assertCorrupt(Arrays.copyOf(bytes, length));
+        }
+
+        // Negative level size
+        byte[] corrupt = bytes.clone();
+        java.nio.ByteBuffer.wrap(corrupt).putInt(36, -1);
+        assertCorrupt(corrupt);
+
+        // Bad k, too large to allocate or negative
+        for (int k : new int[] {Integer.MAX_VALUE, -1}) {
+            corrupt = bytes.clone();
+            java.nio.ByteBuffer.wrap(corrupt).putInt(4, k);
+            assertCorrupt(corrupt);
+        }
+
+        // Too many levels
+        corrupt = bytes.clone();
+        java.nio.ByteBuffer.wrap(corrupt).putInt(32, Integer.MAX_VALUE);
+        assertCorrupt(corrupt);
+    }
+
+    private void assertCorrupt(byte[] bytes) {
+        try {
+            QuantileSketch.fromBytes(bytes);
+            fail("Expected IllegalArgumentException for " + bytes.length + " bytes");
+        }
+        catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    private void assertRankError(QuantileSketch sketch, double[] sorted) {
+        double epsilon = QuantileSketch.getNormalizedRankError(sketch.getK()) * 1.5;
+        int n = sorted.length;
+        for (double p : percents) {
+            double q = sketch.getQuantile(p);
+            int lo = Arrays.binarySearch(sorted, q);
+            assertTrue("Quantile must be one of the input values", lo >= 0);
+            double rank = (lo + 1) / (double) n;
+            assertEquals("Rank error too large at " + p, p, rank, epsilon);
+            assertEquals(rank, sketch.getRank(q), epsilon);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package mbarix4j.math;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.DoubleStream;
+import org.junit.Test;
+
+/**
+ * @author Brian Schlining
+ * @since 2026-10-17
+ */
+public class RunningStatisticsTest {
+
+    private double tolerance = 0.0000000001;
+    private double[] b = {0.814723686393179, 0.905791937075619, 0.126986816293506, 0.913375856139019,
+            0.632359246225410, 0.097540404999410, 0.278498218867048, 0.546881519204984,
+            0.957506835434298, 0.964888535199277};
+
+    @Test
+    public void testMatchesStatlib() {
+        RunningStatistics stats = new RunningStatistics().addAll(b);
+        assertEquals(b.length, stats.getCount());
+        assertEquals(Statlib.mean(b), stats.getMean(), tolerance);
+        assertEquals(Statlib.variance(b), stats.getVariance(), tolerance);
+        assertEquals(Statlib.standardDeviation(b), stats.getStandardDeviation(), tolerance);
+        assertEquals(Statlib.populationVariance(b), stats.getPopulationVariance(), tolerance);
+        assertEquals(0.097540404999410, stats.getMin(), 0D);
+        assertEquals(0.964888535199277, stats.getMax(), 0D);
+    }
+
+    @Test
+    public void testCombine() {
+        Random random = new Random(7L);
+        double[] values = new double[100001];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 1000 + random.nextGaussian() * 3;
+        }
+        RunningStatistics whole = new RunningStatistics().addAll(values);
+        RunningStatistics parts = new RunningStatistics()
+                .addAll(values, 0, 10)
+                .combine(new RunningStatistics())
+                .combine(new RunningStatistics().addAll(values, 10, 50000))
+                .combine(new RunningStatistics().addAll(values, 50000, values.length));
+        RunningStatistics stream = RunningStatistics.of(DoubleStream.of(values).parallel());
+
+        for (RunningStatistics s : Arrays.asList(parts, stream)) {
+            assertEquals(whole.getCount(), s.getCount());
+            assertEquals(whole.getMean(), s.getMean(), 1E-9);
+            assertEquals(Statlib.variance(values), s.getVariance(), 1E-9);
+            assertEquals(whole.getMin(), s.getMin(), 0D);
+            assertEquals(whole.getMax(), s.getMax(), 0D);
+        }
+    }
+
+    @Test
+    public void testEmpty() {
+        RunningStatistics stats = new RunningStatistics();
+        assertEquals(0, stats.getCount());
+        assertTrue(Double.isNaN(stats.getMean()));
+        assertTrue(Double.isNaN(stats.getVariance()));
+        assertTrue(Double.isNaN(stats.getMin()));
+    }
+
+    @Test
+    public void testCovariance() {
+        double[] x = new double[] {1.0000000000000D, 45.3333333333333D,
+                89.6666666666667D, 134.0000000000000D, 178.3333333333333D,
+                222.6666666666667D, 267.0000000000000D, 311.3333333333333D,
+                355.6666666666667D, 400.0000000000000D, 234.5D};
+        double[] y = Arrays.copyOf(x, x.length);
+        y[10] = 1D;
+
+        RunningCovariance cov = new RunningCovariance().addAll(x, y);
+        assertEquals(Statlib.pearsonsCorrelation(x, y), cov.getCorrelation(), tolerance);
+
+        RunningCovariance parts = new RunningCovariance().addAll(x, y, 0, 4);
+        parts.combine(new RunningCovariance().addAll(x, y, 4, x.length));
+        assertEquals(cov.getCovariance(), parts.getCovariance(), 1E-9);
+        assertEquals(cov.getCorrelation(), parts.getCorrelation(), tolerance);
+        assertEquals(Statlib.variance(x), cov.getX().getVariance(), 1E-9);
+
+        // The marginal statistics are copies
+        cov.getX().accept(1E6);
+        assertEquals(x.length, cov.getX().getCount());
+        assertEquals(Statlib.variance(x), cov.getX().getVariance(), 1E-9);
+    }
+}
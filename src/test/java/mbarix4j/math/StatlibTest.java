@@ -1,6 +1,9 @@
 package mbarix4j.math;
 
 import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Random;
 import org.junit.Test;
 
 /**
@@ -89,4 +92,41 @@ public class StatlibTest {
     }
 
 
+    @Test
+    public void testSelectionMatchesSort() {
+        Random random = new Random(99L);
+        for (int n : new int[] {1, 2, 3, 10, 17, 100, 1001, 50000}) {
+            double[] values = new double[n];
+            for (int i = 0; i < n; i++) {
+                // Lots of duplicates, like quantized sensor data
+                values[i] = random.nextInt(n / 3 + 1) + ((i % 7 == 0) ? 0.5 : 0D);
+            }
+            double[] original = Arrays.copyOf(values, n);
+            double[] sorted = Arrays.copyOf(values, n);
+            Arrays.sort(sorted);
+
+            double expectedMedian = (n % 2 == 0) ? (sorted[n / 2 - 1] + sorted[n / 2]) / 2 : sorted[n / 2];
+            assertEquals(expectedMedian, Statlib.median(values), 0D);
+
+            double[] percents = {0.95, 0.05, 0.5, 0.25, 0.75, 0.25};
+            double[] p = Statlib.percentiles(values, percents);
+            for (int i = 0; i < percents.length; i++) {
+                int k = Math.min(Math.max((int) Math.round(n * percents[i]) - 1, 0), n - 1);
+                assertEquals(sorted[k], p[i], 0D);
+                assertEquals(sorted[k], Statlib.percentile(values, percents[i]), 0D);
+            }
+            assertArrayEquals("The input array was modified", original, values, 0D);
+        }
+    }
+
+    @Test
+    public void testPercentileWithNaN() {
+        double[] q = new double[] {Double.NaN, 10, 9, 8, 7, 6, 5, 4, 3, 2, 1, Double.NaN};
+        assertEquals(5, Statlib.percentile(q, 0.4), tolerance);
+        assertTrue(Double.isNaN(Statlib.percentile(q, 1)));
+        assertTrue(Double.isNaN(Statlib.percentiles(q, 0.2, 1)[1]));
+        assertEquals(6.5, Statlib.median(q), tolerance);
+        assertEquals(6, Statlib.median(Arrays.copyOf(q, 11)), tolerance);
+    }
+
 }
@@ -0,0 +1,113 @@
+package mbarix4j.model.solar;
+
+import static org.junit.Assert.*;
+
+import mbarix4j.math.Matlib;
+import mbarix4j.solar.SolarPosition;
+import org.junit.Test;
+
+/**
+ * @author Brian Schlining
+ * @since 2026-10-17
+ */
+public class DailyIrradianceTest {
+
+    private static final double LATITUDE = 36.747;
+    private static final double LONGITUDE = -122.022;
+    private static final long JULY_1 = 1277942400000L; // 2010-07-01
+    private static final double[] PAR = Matlib.linspace(400, 700, 31);
+
+    private final FrouinIrradianceModel model = new FrouinIrradianceModel(PAR);
+
+    /** 1-minute steps and trapz over time and wavelength */
+    private double bruteForce(long day, double lat, double lon, DailyIrradiance.Units units) {
+        return bruteForce(day, lat, lon, units, -999, -999, -999);
+    }
+
+    private double bruteForce(long day, double lat, double lon, DailyIrradiance.Units units, double TauA865,
+            double Angstrom, double Dobson) {
+        double[] wl = model.getWavelength();
+        int n = 24 * 60 + 1;
+        double[] t = new double[n];
+        double[] band = new double[n];
+        long start = day - (long) (lon / 360D * 86400000L);
+        for (int i = 0; i < n; i++) {
+            long millis = start + i * 60000L;
+            double[] E = model.calcIrradiance(millis, lat, lon, TauA865, Angstrom, Dobson);
+            if (E[0] == FrouinIrradianceModel.MISSING_VALUE || Double.isNaN(E[0])) {
+                continue;
+            }
+            double[] y = new double[wl.length];
+            for (int j = 0; j < wl.length; j++) {
+                y[j] = E[j] * 10 / 1000D;   // W m^-2 nm^-1
+                if (units == DailyIrradiance.Units.QUANTA) {
+                    y[j] *= wl[j] * 1E-9 / (6.62607015E-34 * 299792458D * 6.02214076E23);
+                }
+            }
+            band[i] = Matlib.trapz(wl, y);
+        }
+        for (int i = 0; i < n; i++) {
+            t[i] = i * 60D;
+        }
+        return Matlib.trapz(t, band);
+    }
+
+    @Test
+    public void testMatchesBruteForce() {
+        for (DailyIrradiance.Units units : DailyIrradiance.Units.values()) {
+            DailyIrradiance daily = new DailyIrradiance(model, units);
+            double expected = bruteForce(JULY_1, LATITUDE, LONGITUDE, units);
+            double actual = daily.integrate(JULY_1, LATITUDE, LONGITUDE);
+            assertEquals(expected, actual, expected * 1E-4);
+        }
+        // Clear sky summer PAR in Monterey is around 60 mol quanta m^-2 per day
+        double par = new DailyIrradiance(model, DailyIrradiance.Units.QUANTA).integrate(JULY_1, LATITUDE, LONGITUDE);
+        assertTrue("PAR was " + par, par > 50 && par < 70);
+    }
+
+    @Test
+    public void testAtmosphere() {
+        DailyIrradiance.Units units = DailyIrradiance.Units.QUANTA;
+        DailyIrradiance hazy = new DailyIrradiance(model, units, DailyIrradiance.DEFAULT_TOLERANCE, 0.5, 1.2, 400);
+        double expected = bruteForce(JULY_1, LATITUDE, LONGITUDE, units, 0.5, 1.2, 400);
+        double actual = hazy.integrate(JULY_1, LATITUDE, LONGITUDE);
+        assertEquals(expected, actual, expected * 1E-4);
+        assertTrue(actual < new DailyIrradiance(model, units).integrate(JULY_1, LATITUDE, LONGITUDE));
+    }
+
+    @Test
+    public void testDaylight() {
+        long[] daylight = DailyIrradiance.daylight(JULY_1, LATITUDE, LONGITUDE);
+        for (long t : daylight) {
+            double zenith = Math.toDegrees(new SolarPosition(t, LATITUDE, LONGITUDE).getZenith());
+            assertEquals(90, zenith, 0.05);
+        }
+        // About 14.5 hours of daylight
+        assertEquals(14.5, (daylight[1] - daylight[0]) / 3600000D, 0.25);
+
+        // Polar night and polar day
+        long[] night = DailyIrradiance.daylight(JULY_1, -80, 0);
+        assertEquals(night[0], night[1]);
+        long[] day = DailyIrradiance.daylight(JULY_1, 80, 0);
+        assertEquals(86400000L, day[1] - day[0], 1000);
+        assertEquals(0, new DailyIrradiance(model, DailyIrradiance.Units.ENERGY).integrate(JULY_1, -80, 0), 0);
+    }
+
+    @Test
+    public void testGrid() {
+        DailyIrradiance daily = new DailyIrradiance(model, DailyIrradiance.Units.QUANTA, 1E-5);
+        long[] days = {JULY_1, JULY_1 + 100 * 86400000L};
+        double[] lat = {-60, -20, 0, 20, 36.7, 60};
+        double[] lon = {-150, -60, 0, 30, 120, 170};
+        double[] sequential = new double[days.length * lat.length];
+        double[] parallel = new double[sequential.length];
+        daily.integrate(days, lat, lon, sequential, false);
+        daily.integrate(days, lat, lon, parallel, true);
+        assertArrayEquals(sequential, parallel, 0);
+        for (int d = 0; d < days.length; d++) {
+            for (int s = 0; s < lat.length; s++) {
+                assertEquals(daily.integrate(days[d], lat[s], lon[s]), sequential[d * lat.length + s], 0);
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package mbarix4j.model.solar;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * @author Brian Schlining
+ * @since 2026-10-17
+ */
+@SuppressWarnings("deprecation")
+public class FrouinExtendedTest {
+
+    private static final double[] SEAWIFS = {412, 443, 490, 510, 555, 670};
+
+    @Test
+    public void testMatchesOriginal() {
+        // Bits from before the spectral constants were cached
+        long[] moby = {4639159104549527465L, 4639801541345166796L, 4639896423867903516L,
+                4639949363179572330L, 4639778427715499597L, 4638946448037852856L};
+        long[] m1 = {4638256037935927112L, 4639051155025644235L, 4639146155341917406L,
+                4639194806587403163L, 4639049458028652059L, 4637955557914995606L};
+        for (int r = 0; r < 2; r++) {
+            double[] E = FrouinExtended.calcSurfSolIrrad(SEAWIFS, 1998, 3, 16, 23.0, 20.83, -157.19, 0.08, 0.5, 325);
+            double[] F = FrouinExtended.calcSurfSolIrrad(SEAWIFS, 2010, 7, 1, 22.5, 36.7, -122.0);
+            for (int i = 0; i < SEAWIFS.length; i++) {
+                assertEquals(Double.longBitsToDouble(moby[i]), E[i], 0);
+                assertEquals(Double.longBitsToDouble(m1[i]), F[i], 0);
+            }
+        }
+    }
+
+    @Test
+    public void testNightWithAnyGrid() {
+        double[] wl = {400, 450, 500, 550, 600, 650, 700, 750};
+        double[] E = FrouinExtended.calcSurfSolIrrad(wl, 2010, 7, 1, 10.0, 36.7, -122.0);
+        assertEquals(wl.length, E.length);
+        for (double e : E) {
+            assertEquals(-999.9, e, 0);
+        }
+    }
+
+    @Test
+    public void testSpectralConstantsCache() {
+        double[] wl = SEAWIFS.clone();
+        SpectralConstants a = SpectralConstants.of(wl);
+        wl[0] = 999;  // The cache keeps its own copy of the grid
+        assertSame(a, SpectralConstants.of(SEAWIFS.clone()));
+        assertNotSame(a, SpectralConstants.of(wl));
+        assertArrayEquals(FrouinExtended.getE0(SEAWIFS), a.e0, 0);
+        for (int i = 0; i <= SpectralConstants.CACHE_SIZE; i++) {
+            SpectralConstants.of(new double[] {400 + i});
+        }
+        assertNotSame(a, SpectralConstants.of(SEAWIFS));
+    }
+}
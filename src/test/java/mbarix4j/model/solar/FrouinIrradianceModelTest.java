@@ -0,0 +1,94 @@
+package mbarix4j.model.solar;
+
+import static org.junit.Assert.*;
+
+import java.util.Calendar;
+import java.util.Random;
+import mbarix4j.util.GmtCalendar;
+import org.junit.Test;
+
+/**
+ * @author Brian Schlining
+ * @since 2026-10-17
+ */
+public class FrouinIrradianceModelTest {
+
+    private static final double[] SEAWIFS = {412, 443, 490, 510, 555, 670};
+    private static final double LATITUDE = 20.83;
+    private static final double LONGITUDE = -157.19;
+
+    /** {millis, E bits...} at the MOBY site from the original implementation */
+    private static final long[][] EXPECTED = {
+            {890089200000L, 4639140649623115876L, 4639777981763875397L, 4639873331123477087L, 4639932862128411560L, 4639777562589879793L, 4638925490557036596L},
+            {1277935200000L, 4639467234116085699L, 4640129741736319077L, 4640214437129912307L, 4640272472930849275L, 4640099788204489966L, 4639190319361604372L},
+            {1262383200000L, 4637072172757406874L, 4638120007574438838L, 4638352305965821359L, 4638459440245091381L, 4638240756631722910L, 4637005650250341229L},
+            {1265320800000L, 4637947332567066843L, 4638891864352812719L, 4639001406168454427L, 4639057271154237764L, 4638932128648026875L, 4637757194023016489L},
+            {1277960000000L, 4605228760967340831L, 4609678092326587038L, 4613012761153077194L, 4613493738773198590L, 4613681867420002538L, 4616386231792381090L}
+    };
+
+    @Test
+    public void testMatchesOriginal() {
+        FrouinIrradianceModel model = new FrouinIrradianceModel(SEAWIFS);
+        for (long[] e : EXPECTED) {
+            double[] E = model.calcIrradiance(e[0], LATITUDE, LONGITUDE);
+            for (int i = 0; i < SEAWIFS.length; i++) {
+                assertEquals(Double.longBitsToDouble(e[i + 1]), E[i], 0);
+            }
+        }
+        // The inputs of the Fortran sample run, with all the optional inputs. The
+        // expected values pin this implementation's output; they do not match the
+        // 133.52 the Fortran run printed.
+        double[] E = model.calcIrradiance(890089200000L, LATITUDE, LONGITUDE, 0.08, 0.5, 325);
+        assertEquals(140.03918831845917, E[0], 0);
+        assertEquals(134.01892065933458, E[5], 0);
+    }
+
+    @Test
+    public void testTimeSeries() {
+        FrouinIrradianceModel model = new FrouinIrradianceModel(SEAWIFS);
+        int n = 3000;
+        int m = SEAWIFS.length;
+        long[] millis = new long[n];
+        double[] lat = new double[n];
+        double[] lon = new double[n];
+        for (int i = 0; i < n; i++) {
+            millis[i] = 1262304000000L + i * 17 * 60000L;
+            lat[i] = LATITUDE + i / 1000D;
+            lon[i] = LONGITUDE + i / 1000D;
+        }
+        for (boolean parallel : new boolean[] {false, true}) {
+            double[] E = new double[n * m];
+            model.calcIrradiance(millis, LATITUDE, LONGITUDE, -999, -999, -999, E, parallel);
+            double[] moving = new double[n * m];
+            model.calcIrradiance(millis, lat, lon, 0.08, 0.5, -999, moving, parallel);
+            int night = 0;
+            for (int i = 0; i < n; i++) {
+                double[] expected = model.calcIrradiance(millis[i], LATITUDE, LONGITUDE);
+                double[] expectedMoving = model.calcIrradiance(millis[i], lat[i], lon[i], 0.08, 0.5, -999);
+                for (int j = 0; j < m; j++) {
+                    assertEquals(expected[j], E[i * m + j], 0);
+                    assertEquals(expectedMoving[j], moving[i * m + j], 0);
+                }
+                if (E[i * m] == FrouinIrradianceModel.MISSING_VALUE) {
+                    night++;
+                }
+            }
+            assertTrue(night > 0 && night < n);
+        }
+    }
+
+    @Test
+    public void testMonth() {
+        Random random = new Random(21L);
+        for (int i = 0; i < 100000; i++) {
+            long millis = (long) (random.nextGaussian() * 1E14);
+            int expected = new GmtCalendar(millis).get(Calendar.MONTH) + 1;
+            assertEquals("millis = " + millis, expected, FrouinIrradianceModel.month(millis));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOutputLength() {
+        new FrouinIrradianceModel(SEAWIFS).calcIrradiance(new long[10], 0, 0, -999, -999, -999, new double[59], false);
+    }
+}
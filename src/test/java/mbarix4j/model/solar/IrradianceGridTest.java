@@ -0,0 +1,115 @@
+package mbarix4j.model.solar;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import mbarix4j.math.Matlib;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author Brian Schlining
+ * @since 2026-10-17
+ */
+public class IrradianceGridTest {
+
+    private static final long JULY_1 = 1277942400000L; // 2010-07-01
+    private static final long HOUR = 3600000L;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final FrouinIrradianceModel model = new FrouinIrradianceModel(Matlib.linspace(400, 700, 31));
+
+    @Test
+    public void testMatchesPointModel() {
+        IrradianceGrid grid = IrradianceGrid.global(model, DailyIrradiance.Units.ENERGY, 5);
+        assertEquals(36, grid.getRows());
+        assertEquals(72, grid.getColumns());
+        double[] lat = grid.getLatitude();
+        double[] lon = grid.getLongitude();
+        double[] weights = DailyIrradiance.bandWeights(model.getWavelength(), DailyIrradiance.Units.ENERGY);
+        double[] tauAer = model.aerosolOpticalThickness(-999, -999);
+        double[] scratch = new double[weights.length];
+        long millis = JULY_1 + 20 * HOUR + 1234567L;
+        for (boolean parallel : new boolean[] {false, true}) {
+            float[] map = new float[grid.getRows() * grid.getColumns()];
+            grid.evaluate(millis, map, parallel);
+            int day = 0;
+            for (int i = 0; i < lat.length; i++) {
+                for (int j = 0; j < lon.length; j++) {
+                    double expected = model.weightedIrradiance(millis, lat[i], lon[j], -999, tauAer, weights, scratch);
+                    float actual = map[i * lon.length + j];
+                    assertEquals("lat = " + lat[i] + ", lon = " + lon[j], expected, actual, 1E-5 * expected + 1E-3);
+                    if (actual > 0) {
+                        day++;
+                    }
+                }
+            }
+            assertTrue(day > 0 && day < map.length);
+        }
+    }
+
+    @Test
+    public void testAtmosphere() {
+        IrradianceGrid grid = IrradianceGrid.global(model, DailyIrradiance.Units.ENERGY, 10, 0.5, 1.2, 400);
+        IrradianceGrid clear = IrradianceGrid.global(model, DailyIrradiance.Units.ENERGY, 10);
+        double[] lat = grid.getLatitude();
+        double[] lon = grid.getLongitude();
+        double[] weights = DailyIrradiance.bandWeights(model.getWavelength(), DailyIrradiance.Units.ENERGY);
+        double[] tauAer = model.aerosolOpticalThickness(0.5, 1.2);
+        double[] scratch = new double[weights.length];
+        long millis = JULY_1 + 20 * HOUR;
+        float[] map = new float[grid.getRows() * grid.getColumns()];
+        float[] clearMap = new float[map.length];
+        grid.evaluate(millis, map, false);
+        clear.evaluate(millis, clearMap, false);
+        for (int i = 0; i < lat.length; i++) {
+            for (int j = 0; j < lon.length; j++) {
+                double expected = model.weightedIrradiance(millis, lat[i], lon[j], 400, tauAer, weights, scratch);
+                int k = i * lon.length + j;
+                assertEquals(expected, map[k], 1E-5 * expected + 1E-3);
+                assertTrue(map[k] <= clearMap[k]);
+            }
+        }
+    }
+
+    @Test
+    public void testIntegrate() {
+        double[] lat = {36.747, -20};
+        double[] lon = {-122.022, 45};
+        IrradianceGrid grid = new IrradianceGrid(model, DailyIrradiance.Units.QUANTA, lat, lon);
+        long[] millis = new long[24 * 6 * 2 + 1];
+        for (int i = 0; i < millis.length; i++) {
+            millis[i] = JULY_1 - 12 * HOUR + i * HOUR / 6;
+        }
+        double[] daily = new double[4];
+        grid.integrate(millis, daily, true);
+        DailyIrradiance par = new DailyIrradiance(model, DailyIrradiance.Units.QUANTA);
+        // The two days around July 1st at Monterey (column 0)
+        double expected = par.integrate(JULY_1 - 86400000L, lat[0], lon[0]) + par.integrate(JULY_1, lat[0], lon[0]);
+        assertEquals(expected, daily[0], expected * 0.01);
+    }
+
+    @Test
+    public void testWrite() throws IOException {
+        IrradianceGrid grid = IrradianceGrid.global(model, DailyIrradiance.Units.ENERGY, 10);
+        long[] millis = {JULY_1, JULY_1 + 6 * HOUR, JULY_1 + 12 * HOUR};
+        Path file = folder.newFile("grid.irrg").toPath();
+        grid.write(millis, file, true);
+        for (int t = 0; t < millis.length; t++) {
+            float[] expected = new float[grid.getRows() * grid.getColumns()];
+            grid.evaluate(millis[t], expected, false);
+            assertArrayEquals(expected, IrradianceGrid.read(file, t), 0);
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testReadBadFile() throws IOException {
+        Path file = folder.newFile("bad.irrg").toPath();
+        java.nio.file.Files.write(file, new byte[100]);
+        IrradianceGrid.read(file, 0);
+    }
+}
@@ -0,0 +1,90 @@
+package mbarix4j.ocean;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * @author Brian Schlining
+ * @since 2026-10-17
+ */
+public class ChlorophyllTest {
+
+    private double tolerance = 0.0000000001;
+
+    /**
+     * The polynomials written out term by term, the way they were originally coded
+     */
+    @Test
+    public void testHornerForm() {
+        double[] ratios = {0.3, 0.8, 1.0, 1.7, 4.2};
+        for (double ratio : ratios) {
+            double R = Math.log10(ratio);
+            assertEquals(Math.pow(10, 0.3920 - 2.8550 * R + 0.6580 * R * R), Chlorophyll.oc1c(ratio, 1), tolerance);
+            assertEquals(Math.pow(10, 0.3335 - 2.9164 * R + 2.4686 * R * R - 2.5195 * R * R * R),
+                    Chlorophyll.oc1d(ratio, 1), tolerance);
+            assertEquals(Math.pow(10.0, 0.319 - 2.336 * R + 0.879 * R * R - 0.135 * R * R * R) - 0.071,
+                    Chlorophyll.oc2v4(ratio, 1), tolerance);
+        }
+    }
+
+    @Test
+    public void testOc4v4UsesMaxRatio() {
+        double[] a = {0.366, -3.067, 1.930, 0.649, -1.532};
+        double R = Math.log10(0.012 / 0.006);
+        double expected = Math.pow(10.0, a[0] + a[1] * R + a[2] * R * R + a[3] * R * R * R + a[4] * R * R * R * R);
+        assertEquals(expected, Chlorophyll.oc4v4(0.009, 0.012, 0.010, 0.006), tolerance);
+        assertEquals(expected, Chlorophyll.oc4v4(0.012, 0.009, 0.010, 0.006), tolerance);
+        assertTrue(Double.isNaN(Chlorophyll.oc4v4(Double.NaN, 0.012, 0.010, 0.006)));
+    }
+
+    @Test
+    public void testOc4v4NegativeBand() {
+        // Negative Rrs from atmospheric correction must not be silently dropped
+        assertTrue(Double.isNaN(Chlorophyll.oc4v4(-0.001, 0.004, 0.003, 0.002)));
+        assertTrue(Double.isNaN(Chlorophyll.oc4v4(0.004, 0.003, 0.002, -0.001)));
+        assertTrue(Double.isNaN(Chlorophyll.oc4v4(0.004, 0.003, 0.0, 0.002)));
+
+        double[] b1 = {0.009, -0.001, 0.009};
+        double[] b2 = {0.012, 0.004, 0.012};
+        double[] b3 = {0.010, 0.003, 0.010};
+        double[] b4 = {0.006, 0.002, 0.006};
+        double[] out = new double[3];
+        Chlorophyll.oc4v4(b1, b2, b3, b4, out);
+        assertEquals(Chlorophyll.oc4v4(0.009, 0.012, 0.010, 0.006), out[0], 0D);
+        assertTrue(Double.isNaN(out[1]));
+        assertEquals(out[0], out[2], 0D);
+    }
+
+    @Test
+    public void testArrays() {
+        int n = 10000;
+        Random random = new Random(5L);
+        double[] b1 = new double[n];
+        double[] b2 = new double[n];
+        double[] b3 = new double[n];
+        double[] b4 = new double[n];
+        for (int i = 0; i < n; i++) {
+            b1[i] = 0.002 + random.nextDouble() * 0.01;
+            b2[i] = 0.002 + random.nextDouble() * 0.01;
+            b3[i] = 0.002 + random.nextDouble() * 0.01;
+            b4[i] = 0.002 + random.nextDouble() * 0.01;
+        }
+        double[] out = new double[n];
+        for (boolean parallel : new boolean[] {false, true}) {
+            Chlorophyll.oc2v4(b2, b4, out, parallel);
+            for (int i = 0; i < n; i++) {
+                assertEquals(Chlorophyll.oc2v4(b2[i], b4[i]), out[i], 0D);
+            }
+            Chlorophyll.oc4v4(b1, b2, b3, b4, out, parallel);
+            for (int i = 0; i < n; i++) {
+                assertEquals(Chlorophyll.oc4v4(b1[i], b2[i], b3[i], b4[i]), out[i], 0D);
+            }
+        }
+        Chlorophyll.czcs(b1, b4, out);
+        for (int i = 0; i < n; i++) {
+            assertEquals(Chlorophyll.czcs(b1[i], b4[i]), out[i], 0D);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package mbarix4j.ocean;
+
+import static org.junit.Assert.*;
+
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Random;
+import mbarix4j.ocean.CtdPipeline.Product;
+import org.junit.Test;
+
+/**
+ * @author Brian Schlining
+ * @since 2026-10-17
+ */
+public class CtdPipelineTest {
+
+    private final int n = 20000;
+    private final double[] c = new double[n];
+    private final double[] t = new double[n];
+    private final double[] p = new double[n];
+    private final double[] lat = new double[n];
+
+    public CtdPipelineTest() {
+        Random random = new Random(3L);
+        for (int i = 0; i < n; i++) {
+            c[i] = 0.7 + random.nextDouble() * 0.4;
+            t[i] = 2 + random.nextDouble() * 20;
+            p[i] = i * 0.25;
+            lat[i] = 36.8 + i / 100000D;
+        }
+    }
+
+    @Test
+    public void testMatchesSeawater() {
+        for (boolean parallel : new boolean[] {false, true}) {
+            CtdPipeline pipeline = CtdPipeline.all();
+            Map<Product, double[]> out = pipeline.allocate(n);
+            pipeline.derive(c, t, p, lat, out, parallel);
+            for (int i = 0; i < n; i++) {
+                double s = Seawater.salinity(c[i], t[i], p[i]);
+                double theta = Seawater.theta(s, t[i], p[i]);
+                assertEquals(s, out.get(Product.SALINITY)[i], 0D);
+                assertEquals(Seawater.density(s, t[i], p[i]), out.get(Product.DENSITY)[i], 0D);
+                assertEquals(Seawater.sigmat(s, t[i]), out.get(Product.SIGMAT)[i], 0D);
+                assertEquals(theta, out.get(Product.THETA)[i], 0D);
+                assertEquals(Seawater.spiciness(s, theta, p[i]), out.get(Product.SPICINESS)[i], 0D);
+                assertEquals(Seawater.svel(s, t[i], p[i]), out.get(Product.SVEL)[i], 0D);
+                assertEquals(Seawater.depth(p[i], lat[i]), out.get(Product.DEPTH)[i], 0D);
+            }
+        }
+    }
+
+    @Test
+    public void testSubset() {
+        CtdPipeline pipeline = new CtdPipeline(EnumSet.of(Product.SIGMAT, Product.DEPTH));
+        Map<Product, double[]> out = pipeline.derive(c, t, p, 36.8);
+        assertEquals(EnumSet.of(Product.SIGMAT, Product.DEPTH), out.keySet());
+        for (int i = 0; i < n; i++) {
+            assertEquals(Seawater.sigmat(Seawater.salinity(c[i], t[i], p[i]), t[i]), out.get(Product.SIGMAT)[i], 0D);
+            assertEquals(Seawater.depth(p[i], 36.8), out.get(Product.DEPTH)[i], 0D);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingOutput() {
+        CtdPipeline pipeline = new CtdPipeline(EnumSet.of(Product.DENSITY));
+        pipeline.derive(c, t, p, lat, new java.util.EnumMap<>(Product.class), false);
+    }
+}
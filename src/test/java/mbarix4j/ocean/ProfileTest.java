@@ -0,0 +1,97 @@
+package mbarix4j.ocean;
+
+import static org.junit.Assert.*;
+
+import mbarix4j.math.Matlib;
+import org.junit.Test;
+
+/**
+ * @author Brian Schlining
+ * @since 2026-10-17
+ */
+public class ProfileTest {
+
+    private final int n = 1000;
+    private final double[] p = new double[n];
+    private final double[] t = new double[n];
+    private final double[] s = new double[n];
+
+    public ProfileTest() {
+        // 50 m mixed layer over a thermocline
+        for (int i = 0; i < n; i++) {
+            p[i] = 1 + i;
+            t[i] = p[i] <= 50 ? 15 : 15 - 10 * (1 - Math.exp(-(p[i] - 50) / 100D));
+            s[i] = p[i] <= 50 ? 34 : 34 + (p[i] - 50) / 1000D;
+        }
+    }
+
+    @Test
+    public void testIncrementalMatchesBulk() {
+        Profile bulk = new Profile(36.8);
+        bulk.append(p, t, s);
+
+        Profile incremental = new Profile(36.8);
+        for (int i = 0; i < n; i++) {
+            incremental.append(p[i], t[i], s[i]);
+        }
+        assertEquals(n, incremental.size());
+        assertArrayEquals(bulk.getDynamicHeight(), incremental.getDynamicHeight(), 0);
+        assertArrayEquals(bulk.getBuoyancyFrequency(), incremental.getBuoyancyFrequency(), 0);
+        assertEquals(bulk.getMixedLayerDepth(), incremental.getMixedLayerDepth(), 0);
+    }
+
+    @Test
+    public void testGeopotentialAnomaly() {
+        Profile profile = new Profile(36.8);
+        profile.append(p, t, s);
+        double[] delta = new double[n];
+        for (int i = 0; i < n; i++) {
+            delta[i] = Seawater.delta(s[i], t[i], p[i]) * 1E-8;
+        }
+        double[] gpan = profile.getGeopotentialAnomaly();
+        assertEquals(0, gpan[0], 0);
+        assertEquals(Matlib.trapz(p, delta) * 1E4, gpan[n - 1], 1E-9);
+        assertEquals(gpan[n - 1] / 10, profile.getDynamicHeight()[n - 1], 1E-12);
+    }
+
+    @Test
+    public void testStability() {
+        Profile profile = new Profile(36.8);
+        profile.append(p, t, s);
+        double[] n2 = profile.getBuoyancyFrequency();
+        double[] mid = profile.getMidPressure();
+        assertEquals(n - 1, n2.length);
+        assertEquals(mid.length, n2.length);
+        for (int i = 0; i < n2.length; i++) {
+            if (mid[i] > 50) {
+                assertTrue("N^2 should be positive at " + mid[i], n2[i] > 0);
+            }
+            else {
+                assertEquals("N^2 should be ~0 in the mixed layer at " + mid[i], 0, n2[i], 1E-6);
+            }
+        }
+        // Typical thermocline values are around 1E-4 to 1E-5 s^-2
+        assertTrue(n2[60] > 1E-5 && n2[60] < 1E-3);
+    }
+
+    @Test
+    public void testMixedLayerDepth() {
+        Profile profile = new Profile(36.8);
+        for (int i = 0; i < 40; i++) {
+            profile.append(p[i], t[i], s[i]);
+        }
+        assertTrue(Double.isNaN(profile.getMixedLayerDepth()));
+        for (int i = 40; i < n; i++) {
+            profile.append(p[i], t[i], s[i]);
+        }
+        double mld = profile.getMixedLayerDepth();
+        assertTrue("Mixed layer depth was " + mld, mld > 50 && mld < 60);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPressureMustIncrease() {
+        Profile profile = new Profile(36.8);
+        profile.append(10, 10, 35);
+        profile.append(10, 10, 35);
+    }
+}
@@ -0,0 +1,129 @@
+package mbarix4j.ocean;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.Consumer;
+import mbarix4j.ocean.SeawaterTable.Axis;
+import mbarix4j.ocean.SeawaterTable.Property;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author Brian Schlining
+ * @since 2026-10-17
+ */
+public class SeawaterTableTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final Axis s = new Axis(30, 40, 41);
+    private final Axis t = new Axis(-2, 32, 69);
+    private final Axis p = new Axis(0, 6000, 121);
+
+    @Test
+    public void testDocumentedError() {
+        SeawaterTable density = SeawaterTable.build(Property.DENSITY, s, t, p);
+        SeawaterTable svel = SeawaterTable.build(Property.SVEL, s, t, p);
+        assertTrue("Density error was " + density.getMaxError(), density.getMaxError() < 1E-6);
+        assertTrue("Svel error was " + svel.getMaxError(), svel.getMaxError() < 0.005);
+
+        Random random = new Random(17L);
+        for (int i = 0; i < 10000; i++) {
+            double si = 30 + random.nextDouble() * 10;
+            double ti = -2 + random.nextDouble() * 34;
+            double pi = random.nextDouble() * 6000;
+            assertEquals(Seawater.density(si, ti, pi), density.value(si, ti, pi), 1E-6);
+            assertEquals(Seawater.svel(si, ti, pi), svel.value(si, ti, pi), 0.005);
+        }
+
+        // Grid points hold the formula exactly, to float precision
+        for (int i = 0; i < 1000; i++) {
+            double si = s.at(random.nextInt(s.getN()));
+            double ti = t.at(random.nextInt(t.getN()));
+            double pi = p.at(random.nextInt(p.getN()));
+            assertEquals((float) Seawater.svel(si, ti, pi), svel.value(si, ti, pi), 0D);
+        }
+
+        // Grid corners and the outside
+        assertEquals(Seawater.svel(40, 32, 6000), svel.value(40, 32, 6000), 0.0001);
+        assertTrue(Double.isNaN(svel.value(29.9, 10, 100)));
+        assertTrue(Double.isNaN(svel.value(35, 10, 6000.1)));
+        assertTrue(Double.isNaN(svel.value(35, Double.NaN, 100)));
+    }
+
+    @Test
+    public void testWriteAndMap() throws Exception {
+        SeawaterTable table = SeawaterTable.build(Property.SVEL, new Axis(33, 36, 7), new Axis(0, 20, 11),
+                new Axis(0, 1000, 11));
+        File file = folder.newFile("svel.swt");
+        table.write(file.toPath());
+        SeawaterTable mapped = SeawaterTable.map(file.toPath());
+        assertEquals(Property.SVEL, mapped.getProperty());
+        assertEquals(table.getMaxError(), mapped.getMaxError(), 0D);
+        assertEquals(11, mapped.getPressure().getN());
+
+        double[] sal = {33.1, 34.5, 35.9, 40};
+        double[] tem = {1, 10, 19.5, 10};
+        double[] pre = {5, 500, 999, 500};
+        double[] out = new double[4];
+        mapped.values(sal, tem, pre, out);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(table.value(sal[i], tem[i], pre[i]), out[i], 0D);
+        }
+        assertTrue(Double.isNaN(out[3]));
+    }
+
+    @Test
+    public void testMapMalformedHeader() throws Exception {
+        SeawaterTable table = SeawaterTable.build(Property.DENSITY, new Axis(33, 36, 4), new Axis(0, 20, 5),
+                new Axis(0, 1000, 6));
+        File file = folder.newFile("density.swt");
+        table.write(file.toPath());
+        byte[] bytes = Files.readAllBytes(file.toPath());
+
+        // Header offsets: magic, version, property, then (min, max, n) for S, T and P
+        int sN = 12 + 16;
+        int tN = sN + 20;
+        int pN = tN + 20;
+        assertMalformed(bytes, buf -> buf.putInt(sN, 1));                  // Too few points
+        assertMalformed(bytes, buf -> buf.putDouble(12, Double.NaN));      // Bad S min
+        assertMalformed(bytes, buf -> buf.putDouble(20, 30));              // S max < min
+        assertMalformed(bytes, buf -> buf.putInt(sN, 5));                  // Wrong size
+        assertMalformed(bytes, buf -> {                                    // Overflows int and long
+            buf.putInt(sN, Integer.MAX_VALUE);
+            buf.putInt(tN, Integer.MAX_VALUE);
+            buf.putInt(pN, Integer.MAX_VALUE);
+        });
+        assertMalformed(Arrays.copyOf(bytes, bytes.length - 4), buf -> { });   // Truncated
+    }
+
+    private void assertMalformed(byte[] bytes, Consumer<ByteBuffer> corrupt)
+            throws Exception {
+        byte[] copy = bytes.clone();
+        corrupt.accept(ByteBuffer.wrap(copy));
+        File file = folder.newFile();
+        Files.write(file.toPath(), copy);
+        try {
+            SeawaterTable.map(file.toPath());
+            fail("Expected an IOException");
+        }
+        catch (IOException e) {
+            // expected
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testMapBadFile() throws Exception {
+        File file = folder.newFile("bad.swt");
+        Files.write(file.toPath(), new byte[] {1, 2, 3});
+        SeawaterTable.map(file.toPath());
+    }
+}
@@ -71,4 +71,101 @@ public class SeawaterTest {
         assertEquals(4906.08, depth(5000, 36), 0.01);
         assertEquals(9674.23, depth(10000, 90), 0.01); //UNESCO 44 p28
     }
+
+    @Test
+    public void testColumns() {
+        int n = 20000;
+        java.util.Random random = new java.util.Random(11L);
+        double[] c = new double[n];
+        double[] s = new double[n];
+        double[] t = new double[n];
+        double[] p = new double[n];
+        for (int i = 0; i < n; i++) {
+            c[i] = 0.6 + random.nextDouble() * 0.5;
+            s[i] = 30 + random.nextDouble() * 8;
+            t[i] = random.nextDouble() * 25;
+            p[i] = random.nextDouble() * 6000;
+        }
+        double[] out = new double[n];
+        for (boolean parallel : new boolean[] {false, true}) {
+            density(s, t, p, out, parallel);
+            for (int i = 0; i < n; i++) {
+                assertEquals(density(s[i], t[i], p[i]), out[i], 0D);
+            }
+            bulkmod(s, t, p, out, parallel);
+            for (int i = 0; i < n; i++) {
+                assertEquals(bulkmod(s[i], t[i], p[i]), out[i], 0D);
+            }
+            svel(s, t, p, out, parallel);
+            for (int i = 0; i < n; i++) {
+                assertEquals(svel(s[i], t[i], p[i]), out[i], 0D);
+            }
+            salinity(c, t, p, out, parallel);
+            for (int i = 0; i < n; i++) {
+                assertEquals(salinity(c[i], t[i], p[i]), out[i], 0D);
+            }
+            theta(s, t, p, 0, out, parallel);
+            for (int i = 0; i < n; i++) {
+                assertEquals(theta(s[i], t[i], p[i]), out[i], 0D);
+            }
+            sigmat(s, t, out, parallel);
+            for (int i = 0; i < n; i++) {
+                assertEquals(sigmat(s[i], t[i]), out[i], 0D);
+            }
+            depth(p, 36.8, out, parallel);
+            for (int i = 0; i < n; i++) {
+                assertEquals(depth(p[i], 36.8), out[i], 0D);
+            }
+        }
+        freeze(s, p, out);
+        for (int i = 0; i < n; i++) {
+            assertEquals(freeze(s[i], p[i]), out[i], 0D);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testColumnLengths() {
+        density(new double[10], new double[10], new double[9], new double[10]);
+    }
+
+    @Test
+    public void testInverses() {
+        assertEquals(5000, pressure(depth(5000, 36), 36), 1E-6);
+        assertEquals(10000, pressure(depth(10000, 90), 90), 1E-6);
+        assertEquals(0, pressure(0, 45), 1E-9);
+
+        java.util.Random random = new java.util.Random(21L);
+        for (int i = 0; i < 1000; i++) {
+            double s = 30 + random.nextDouble() * 10;
+            double t = -2 + random.nextDouble() * 32;
+            double p = random.nextDouble() * 10000;
+            double lat = -90 + random.nextDouble() * 180;
+            assertEquals(p, pressure(depth(p, lat), lat), 1E-6);
+            assertEquals(t, temperature(s, theta(s, t, p), p), 1E-8);
+            assertEquals(t, temperature(s, theta(s, t, p, 1000), p, 1000), 1E-8);
+            double c = 0.6 + random.nextDouble() * 0.6;
+            assertEquals(c, conductivity(salinity(c, t, p), t, p), 1E-9);
+        }
+        assertEquals(0D, conductivity(0, 10, 0), 0D);
+    }
+
+    @Test
+    public void testInverseColumns() {
+        double[] z = {0, 10, 500, 3000};
+        double[] p = new double[z.length];
+        pressure(z, 36.8, p);
+        for (int i = 0; i < z.length; i++) {
+            assertEquals(pressure(z[i], 36.8), p[i], 0D);
+        }
+        double[] s = {33, 34, 35, 36};
+        double[] th = {2, 5, 10, 20};
+        double[] t = new double[s.length];
+        temperature(s, th, p, 0, t, true);
+        double[] c = new double[s.length];
+        conductivity(s, t, p, c);
+        for (int i = 0; i < s.length; i++) {
+            assertEquals(temperature(s[i], th[i], p[i]), t[i], 0D);
+            assertEquals(conductivity(s[i], t[i], p[i]), c[i], 0D);
+        }
+    }
 }
@@ -16,4 +16,65 @@ public class WavesTest {
             assertEquals(10.7129, a.getA(), 0.0001);
             assertEquals(99.8220, a.getB(), 0.0001);
         }
+
+    @Test
+    public void testLimits() {
+        // Deep water: tanh(2 pi z / Ld) goes to 1
+        assertEquals(phaseSpeed(8), phaseSpeed(8, 5000), 1E-12);
+        assertEquals(deepWaterWavelength(8), celerity(8).getB(), 0D);
+        assertEquals(phaseSpeed(8) * 8, celerity(8).getC(), 1E-12);
+
+        // Shallow water: c goes to sqrt(g z)
+        assertEquals(Math.sqrt(9.8 * 0.5), phaseSpeed(60, 0.5), 1E-4);
+    }
+
+    @Test
+    public void testArrays() {
+        double[] t = {2, 8, 8, 14, 20};
+        double[] z = {1, 15, 200, 30, 4000};
+        double[] c = new double[t.length];
+        double[] ld = new double[t.length];
+        double[] l = new double[t.length];
+        Waves.celerity(t, z, c, ld, l);
+        for (int i = 0; i < t.length; i++) {
+            Tuple3<Double, Double, Double> a = celerity(t[i], z[i]);
+            assertEquals(a.getA(), c[i], 0D);
+            assertEquals(a.getB(), ld[i], 0D);
+            assertEquals(a.getC(), l[i], 0D);
+        }
+
+        // Optional outputs
+        double[] c2 = new double[t.length];
+        Waves.celerity(t, z, c2, null, null);
+        assertArrayEquals(c, c2, 0D);
+    }
+
+    @Test
+    public void testSpectrum() {
+        double[] periods = {4, 8, 12};
+        double[] depths = {5, 15, 50, 1000};
+        int n = periods.length * depths.length;
+        double[] c = new double[n];
+        double[] ld = new double[periods.length];
+        double[] l = new double[n];
+        celeritySpectrum(periods, depths, c, ld, l);
+        for (int i = 0; i < periods.length; i++) {
+            assertEquals(deepWaterWavelength(periods[i]), ld[i], 0D);
+            for (int j = 0; j < depths.length; j++) {
+                Tuple3<Double, Double, Double> a = celerity(periods[i], depths[j]);
+                assertEquals(a.getA(), c[i * depths.length + j], 1E-12);
+                assertEquals(a.getC(), l[i * depths.length + j], 1E-12);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testShortOutput() {
+        Waves.celerity(new double[] {8, 10}, new double[] {15, 15}, new double[2], null, new double[1]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testShortSpectrum() {
+        celeritySpectrum(new double[] {8, 10}, new double[] {15, 15}, new double[3], null, null);
+    }
 }
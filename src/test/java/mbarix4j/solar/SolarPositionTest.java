@@ -0,0 +1,70 @@
+package mbarix4j.solar;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * @author Brian Schlining
+ * @since 2026-10-17
+ */
+public class SolarPositionTest {
+
+    private static final double LATITUDE = 36.747;
+    private static final double LONGITUDE = -122.022;
+
+    /** {millis, zenith bits, azimuth bits} from the Calendar based implementation */
+    private static final long[][] EXPECTED = {
+            {1262304000000L, 4609001895473286757L, 4616237690169160546L},
+            {1277950000123L, 4608607449573070442L, 4617349177604859619L},
+            {951782400000L, 4608024406419427838L, 4616418736261785239L},
+            {-86399999L, 4609014395439018954L, 4616238066806754315L},
+            {4102444799999L, 4609002332056347452L, 4616238434749348324L}
+    };
+
+    @Test
+    public void testMatchesCalendarImplementation() {
+        for (long[] e : EXPECTED) {
+            SolarPosition position = new SolarPosition(e[0], LATITUDE, LONGITUDE);
+            assertEquals(Double.longBitsToDouble(e[1]), position.getZenith(), 0);
+            assertEquals(Double.longBitsToDouble(e[2]), position.getAzimuth(), 0);
+        }
+    }
+
+    @Test
+    public void testBatch() {
+        int n = 20000;
+        long[] millis = new long[n];
+        double[] lat = new double[n];
+        double[] lon = new double[n];
+        for (int i = 0; i < n; i++) {
+            millis[i] = 1262304000000L + i * 60013L;
+            lat[i] = LATITUDE + i / 10000D;
+            lon[i] = LONGITUDE - i / 10000D;
+        }
+        for (boolean parallel : new boolean[] {false, true}) {
+            double[] zenith = new double[n];
+            double[] azimuth = new double[n];
+            double[] declination = new double[n];
+            double[] distance = new double[n];
+            SolarPosition.calculate(millis, LATITUDE, LONGITUDE, zenith, azimuth, declination, distance, parallel);
+            for (int i = 0; i < n; i++) {
+                SolarPosition position = new SolarPosition(millis[i], LATITUDE, LONGITUDE);
+                assertEquals(position.getZenith(), zenith[i], 0);
+                assertEquals(position.getAzimuth(), azimuth[i], 0);
+                assertEquals(position.getDeclination(), declination[i], 0);
+                assertEquals(position.getDistance(), distance[i], 0);
+            }
+
+            SolarPosition.calculate(millis, lat, lon, zenith, null, null, null, parallel);
+            for (int i = 0; i < n; i++) {
+                assertEquals(new SolarPosition(millis[i], lat[i], lon[i]).getZenith(), zenith[i], 0);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLengths() {
+        SolarPosition.calculate(new long[10], LATITUDE, LONGITUDE, new double[9], null, null, null, false);
+    }
+}
@@ -17,6 +17,37 @@ public class SolarUtilTest {
             fail("Failed to read ozone.txt");
         }
     }
-    
+
+    @Test
+    public void testEstimateDobsonNearSouthPole() {
+        // -85 < lat < -80 used to read one row past the end of the table
+        for (int month = 1; month <= 12; month++) {
+            double edge = SolarUtil.estimateDobson(month, -85);
+            for (double lat : new double[] {-84.9, -82.5, -80.1}) {
+                assertEquals(edge, SolarUtil.estimateDobson(month, lat), 0);
+            }
+        }
+    }
+
+    @Test
+    public void testTables() {
+        double[] lambda = SolarUtil.getNeckelLabWavelengths();
+        double[] e0 = SolarUtil.getNeckelLabIrradiance();
+        assertEquals(lambda.length, e0.length);
+        assertArrayEquals(e0, SolarUtil.getNeckelLabIrradiance(lambda), 1E-9);
+
+        // Copies, not the tables themselves
+        e0[0] = -1;
+        assertNotEquals(-1, SolarUtil.getNeckelLabIrradiance()[0], 0);
+
+        assertEquals(395, SolarUtil.estimateDobson(1, 90), 0);
+        for (int month = 1; month <= 12; month++) {
+            for (double lat = -90; lat <= 90; lat += 0.5) {
+                double dobson = SolarUtil.estimateDobson(month, lat);
+                assertTrue(dobson > 200 && dobson < 500);
+            }
+        }
+    }
+
 }
 
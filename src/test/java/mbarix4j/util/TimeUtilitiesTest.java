@@ -0,0 +1,52 @@
+package mbarix4j.util;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * @author Brian Schlining
+ * @since 2026-10-17
+ */
+public class TimeUtilitiesTest {
+
+    @Test
+    public void testJulianDateMatchesCalendar() {
+        Random random = new Random(20L);
+        for (int i = 0; i < 200000; i++) {
+            long millis = (long) (random.nextGaussian() * 1E14);
+            if (i % 2 == 0) {
+                // Either side of midnight
+                millis = Math.floorDiv(millis, TimeUtilities.MILLIS_PER_DAY) * TimeUtilities.MILLIS_PER_DAY - (i % 4 == 0 ? 1 : 0);
+            }
+            assertEquals("millis = " + millis, TimeUtilities.getJulianDateFromCalendar(millis),
+                    TimeUtilities.getJulianDate(millis), 0);
+        }
+        // Julian to Gregorian changeover, 1582-10-15, and far outside the arithmetic range
+        for (long millis : new long[] {-12219292800000L, -12219292800001L, Long.MIN_VALUE, Long.MAX_VALUE}) {
+            assertEquals(TimeUtilities.getJulianDateFromCalendar(millis), TimeUtilities.getJulianDate(millis), 0);
+        }
+        assertEquals(2451544.5, TimeUtilities.getJulianDate(946684800000L), 0); // 2000-01-01
+    }
+
+    @Test
+    public void testInverse() {
+        long[] millis = new long[10000];
+        Random random = new Random(21L);
+        for (int i = 0; i < millis.length; i++) {
+            millis[i] = (long) (random.nextDouble() * 4102444800000L);
+        }
+        double[] julianDate = new double[millis.length];
+        TimeUtilities.getJulianDate(millis, julianDate);
+        assertArrayEquals(TimeUtilities.getJulianDate(millis), julianDate, 0);
+
+        long[] days = new long[millis.length];
+        TimeUtilities.julianDateToMillis(julianDate, days);
+        for (int i = 0; i < millis.length; i++) {
+            assertEquals(Math.floorDiv(millis[i], TimeUtilities.MILLIS_PER_DAY) * TimeUtilities.MILLIS_PER_DAY, days[i]);
+            double exact = julianDate[i] + Math.floorMod(millis[i], TimeUtilities.MILLIS_PER_DAY) / (double) TimeUtilities.MILLIS_PER_DAY;
+            assertEquals(millis[i], TimeUtilities.julianDateToMillis(exact), 1);
+        }
+    }
+}
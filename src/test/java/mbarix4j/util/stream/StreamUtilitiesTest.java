@@ -22,4 +22,22 @@ public class StreamUtilitiesTest {
 
         assertEquals("Size did not match", 1, aPrefixedStrings.size());
     }
+
+    @Test
+    public void testForEachChunk() {
+        for (boolean parallel : new boolean[] {false, true}) {
+            for (int n : new int[] {0, 1, 4095, 4096, 4097, 100000}) {
+                int[] visits = new int[n];
+                StreamUtilities.forEachChunk(n, parallel, (from, to) -> {
+                    assertTrue(to - from <= StreamUtilities.DEFAULT_CHUNK_SIZE);
+                    for (int i = from; i < to; i++) {
+                        visits[i]++;
+                    }
+                });
+                for (int i = 0; i < n; i++) {
+                    assertEquals(1, visits[i]);
+                }
+            }
+        }
+    }
 }